@@ -0,0 +1,151 @@
+package com.falcon.falcon.benchmarks;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * JDBC access and synthetic data for the database benchmarks.
+ *
+ * The connection is configured like the application's (DB_URL, DB_USERNAME and DB_PASSWORD, from the environment
+ * or the .env file). The schema must already exist: start the application once against the same database with
+ * JPA_DDL_AUTO=update. Every row a benchmark inserts is tagged with {@link #TAG} and deleted by {@link #deleteSeededRows}.
+ */
+public final class BenchmarkDatabase {
+    public static final String TAG = "jmh-";
+
+    private static final String INSERT_USER = "INSERT INTO user (email, username, password) VALUES (?, ?, 'x')";
+    private static final String INSERT_ROOM = "INSERT INTO room (ami_id, title, description, complexity, total_challenges, " +
+            "imageurl, estimated_time, created_at, total_running_instances, total_joined_users) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, 0)";
+    private static final String INSERT_MEMBERSHIP = "INSERT INTO room_membership (user_id, room_id, is_joined, is_saved, " +
+            "challenges_completed, version) VALUES (?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_CHALLENGE = "INSERT INTO challenge (flag, name, title, room_id) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_SUBMISSION = "INSERT INTO flag_submission (submitted_flag, is_correct, submission_date, " +
+            "user_id, challenge_id) VALUES ('FLAG{wrong}', false, NULL, ?, ?)";
+    private static final String[] COMPLEXITIES = {"EASY", "MEDIUM", "HARD"};
+
+    private BenchmarkDatabase() {
+    }
+
+    public static Connection connect() throws SQLException {
+        Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+        Properties properties = new Properties();
+        properties.setProperty("user", dotenv.get("DB_USERNAME"));
+        properties.setProperty("password", dotenv.get("DB_PASSWORD"));
+        properties.setProperty("useAffectedRows", "true"); // as on the application's pooled connections
+        return DriverManager.getConnection(dotenv.get("DB_URL"), properties);
+    }
+
+    public static long insertUser(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
+            statement.setString(1, TAG + name + "@falcon.test");
+            statement.setString(2, TAG + name);
+            statement.executeUpdate();
+            return generatedKeys(statement).get(0);
+        }
+    }
+
+    // rooms with a description of descriptionLength characters, like the LONGTEXT of a real room page
+    public static List<Long> insertRooms(Connection connection, int count, int descriptionLength, int totalChallenges) throws SQLException {
+        String description = "lorem ipsum dolor sit amet ".repeat(descriptionLength / 27 + 1).substring(0, descriptionLength);
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_ROOM, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < count; i++) {
+                statement.setString(1, TAG + i);
+                statement.setString(2, "Room " + i);
+                statement.setString(3, description);
+                statement.setString(4, COMPLEXITIES[i % COMPLEXITIES.length]);
+                statement.setInt(5, totalChallenges);
+                statement.setString(6, "room-" + i + ".png");
+                statement.setInt(7, 30 + i % 90);
+                statement.setTimestamp(8, Timestamp.valueOf(now.minusMinutes(i)));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            return generatedKeys(statement);
+        }
+    }
+
+    // the user joins every room of the list, every other one is also saved
+    public static void insertMemberships(Connection connection, long userId, List<Long> roomIds, int challengesCompleted) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_MEMBERSHIP)) {
+            for (int i = 0; i < roomIds.size(); i++) {
+                statement.setLong(1, userId);
+                statement.setLong(2, roomIds.get(i));
+                statement.setBoolean(3, true);
+                statement.setBoolean(4, i % 2 == 0);
+                statement.setInt(5, challengesCompleted);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    public static List<Long> insertChallenges(Connection connection, long roomId, int count) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_CHALLENGE, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < count; i++) {
+                statement.setString(1, "FLAG{" + TAG + i + "}");
+                statement.setString(2, TAG + i);
+                statement.setString(3, "Challenge " + i);
+                statement.setLong(4, roomId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            return generatedKeys(statement);
+        }
+    }
+
+    // a still incorrect submission of the user for each challenge, as the rows wrong attempts used to rewrite
+    public static void insertIncorrectSubmissions(Connection connection, long userId, List<Long> challengeIds) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SUBMISSION)) {
+            for (Long challengeId : challengeIds) {
+                statement.setLong(1, userId);
+                statement.setLong(2, challengeId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    // bytes MySQL has sent on this connection so far (the counter includes the result of this statement)
+    public static long bytesSent(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SHOW SESSION STATUS LIKE 'Bytes_sent'")) {
+            return resultSet.next() ? resultSet.getLong(2) : 0;
+        }
+    }
+
+    // children first, the tables have foreign keys to room, challenge and user
+    public static void deleteSeededRows(Connection connection) throws SQLException {
+        String users = "(SELECT id FROM user WHERE username LIKE '" + TAG + "%')";
+        String rooms = "(SELECT id FROM room WHERE ami_id LIKE '" + TAG + "%')";
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM flag_submission_attempt WHERE user_id IN " + users);
+            statement.executeUpdate("DELETE FROM flag_submission WHERE user_id IN " + users);
+            statement.executeUpdate("DELETE FROM room_membership WHERE user_id IN " + users + " OR room_id IN " + rooms);
+            statement.executeUpdate("DELETE FROM challenge WHERE room_id IN " + rooms);
+            statement.executeUpdate("DELETE FROM room WHERE ami_id LIKE '" + TAG + "%'");
+            statement.executeUpdate("DELETE FROM user WHERE username LIKE '" + TAG + "%'");
+        }
+    }
+
+    private static List<Long> generatedKeys(Statement statement) throws SQLException {
+        List<Long> keys = new ArrayList<>();
+        try (ResultSet resultSet = statement.getGeneratedKeys()) {
+            while (resultSet.next()) {
+                keys.add(resultSet.getLong(1));
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,117 @@
+package com.falcon.falcon.benchmarks;
+
+import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.dtos.catalog.RoomCatalogCard;
+import com.falcon.falcon.entities.Room;
+import com.falcon.falcon.enums.Complexity;
+import com.falcon.falcon.mappers.RoomMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog cards: whole Room rows (the previous findAll, LONGTEXT description included) against the card projection,
+ * which reads only the first RoomCatalogCard.DESCRIPTION_HEAD_LENGTH characters of the description.
+ *
+ * The bytesSent counter is the number of bytes MySQL sent for one catalog read (Bytes_sent session status, read
+ * before and after each read on the same connection, the same small status result is counted for both methods).
+ * Run with -prof gc for the heap allocated per catalog read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogCardBenchmark {
+    private static final String FIND_ALL_ROOMS = "SELECT r.* FROM room r WHERE r.ami_id LIKE '" + BenchmarkDatabase.TAG + "%' ORDER BY r.id";
+    private static final String FIND_ALL_CATALOG_CARDS = "SELECT r.id, r.ami_id, r.title, SUBSTRING(r.description, 1, " +
+            RoomCatalogCard.DESCRIPTION_HEAD_LENGTH + "), r.complexity, r.imageurl, r.estimated_time, r.total_challenges, " +
+            "r.created_at, r.total_running_instances, r.total_joined_users FROM room r " +
+            "WHERE r.ami_id LIKE '" + BenchmarkDatabase.TAG + "%' ORDER BY r.id";
+
+    @Param({"1000", "10000"})
+    public int rooms;
+
+    @Param({"2000", "20000"})
+    public int descriptionLength;
+
+    private Connection connection;
+    private final RoomMapper roomMapper = new RoomMapper();
+
+    // EVENTS counters are reported as they are, the field holds the value of the last read
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Transfer {
+        public long bytesSent;
+    }
+
+    @Setup(Level.Trial)
+    public void seed() throws SQLException {
+        connection = BenchmarkDatabase.connect();
+        BenchmarkDatabase.deleteSeededRows(connection);
+        BenchmarkDatabase.insertRooms(connection, rooms, descriptionLength, 10);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws SQLException {
+        BenchmarkDatabase.deleteSeededRows(connection);
+        connection.close();
+    }
+
+    @Benchmark
+    public List<RoomDTO> wholeRooms(Transfer transfer) throws SQLException {
+        long before = BenchmarkDatabase.bytesSent(connection);
+        List<RoomDTO> cards = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_ALL_ROOMS);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                cards.add(roomMapper.toDTO(Room.builder()
+                        .id(resultSet.getLong("id"))
+                        .amiId(resultSet.getString("ami_id"))
+                        .title(resultSet.getString("title"))
+                        .description(resultSet.getString("description"))
+                        .complexity(Complexity.valueOf(resultSet.getString("complexity")))
+                        .imageURL(resultSet.getString("imageurl"))
+                        .estimatedTime(resultSet.getInt("estimated_time"))
+                        .totalChallenges(resultSet.getInt("total_challenges"))
+                        .createdAt(localDateTime(resultSet.getTimestamp("created_at")))
+                        .totalRunningInstances(resultSet.getInt("total_running_instances"))
+                        .totalJoinedUsers(resultSet.getInt("total_joined_users"))
+                        .build()));
+            }
+        }
+        transfer.bytesSent = BenchmarkDatabase.bytesSent(connection) - before;
+        return cards;
+    }
+
+    @Benchmark
+    public List<RoomDTO> cardProjection(Transfer transfer) throws SQLException {
+        long before = BenchmarkDatabase.bytesSent(connection);
+        List<RoomDTO> cards = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_ALL_CATALOG_CARDS);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                cards.add(roomMapper.toCatalogDTO(new RoomCatalogCard(
+                        resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
+                        Complexity.valueOf(resultSet.getString(5)), resultSet.getString(6), resultSet.getInt(7),
+                        resultSet.getInt(8), localDateTime(resultSet.getTimestamp(9)), resultSet.getInt(10),
+                        resultSet.getInt(11))));
+            }
+        }
+        transfer.bytesSent = BenchmarkDatabase.bytesSent(connection) - before;
+        return cards;
+    }
+
+    private LocalDateTime localDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
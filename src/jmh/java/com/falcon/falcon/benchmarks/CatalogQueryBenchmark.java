@@ -0,0 +1,171 @@
+package com.falcon.falcon.benchmarks;
+
+import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.dtos.catalog.RoomCatalogCard;
+import com.falcon.falcon.dtos.catalog.RoomCatalogRow;
+import com.falcon.falcon.entities.Room;
+import com.falcon.falcon.entities.RoomMembership;
+import com.falcon.falcon.enums.Complexity;
+import com.falcon.falcon.mappers.RoomMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Personalized catalog read: the previous path (all rooms, then the user's memberships loaded twice and matched with
+ * nested scans) against the single LEFT JOIN projection of RoomCatalogQueryRepositoryImpl.
+ *
+ * The statements are the ones Hibernate issues for each path (findAll, the memberships + rooms entity graph, the
+ * catalog constructor expression), run over JDBC so no application context is needed. The queries counter is the
+ * number of statements sent for one catalog read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogQueryBenchmark {
+    private static final String FIND_ALL_ROOMS = "SELECT r.* FROM room r";
+    private static final String FIND_USER_WITH_MEMBERSHIPS_AND_ROOMS = "SELECT u.email, u.username, " +
+            "rm.room_id, rm.is_joined, rm.is_saved, rm.challenges_completed, r.* FROM user u " +
+            "LEFT JOIN room_membership rm ON rm.user_id = u.id LEFT JOIN room r ON r.id = rm.room_id WHERE u.id = ?";
+    private static final String CATALOG_PROJECTION = "SELECT r.id, r.ami_id, r.title, SUBSTRING(r.description, 1, " +
+            RoomCatalogCard.DESCRIPTION_HEAD_LENGTH + "), r.complexity, r.imageurl, r.estimated_time, r.total_challenges, " +
+            "r.created_at, r.total_running_instances, r.total_joined_users, rm.is_joined, rm.is_saved, rm.challenges_completed " +
+            "FROM room r LEFT JOIN room_membership rm ON rm.room_id = r.id AND rm.user_id = ? ORDER BY r.id";
+
+    @Param({"1000", "10000"})
+    public int rooms;
+
+    @Param({"10", "500"})
+    public int memberships;
+
+    private Connection connection;
+    private long userId;
+    private final RoomMapper roomMapper = new RoomMapper();
+
+    // EVENTS counters are reported as they are, the field holds the value of the last read
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Statements {
+        public long queries;
+    }
+
+    @Setup(Level.Trial)
+    public void seed() throws SQLException {
+        connection = BenchmarkDatabase.connect();
+        BenchmarkDatabase.deleteSeededRows(connection);
+        List<Long> roomIds = BenchmarkDatabase.insertRooms(connection, rooms, 4000, 10);
+        userId = BenchmarkDatabase.insertUser(connection, "catalog");
+        BenchmarkDatabase.insertMemberships(connection, userId, roomIds.subList(0, memberships), 3);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws SQLException {
+        BenchmarkDatabase.deleteSeededRows(connection);
+        connection.close();
+    }
+
+    @Benchmark
+    public List<RoomDTO> previousThreeQueries(Statements statements) throws SQLException {
+        List<RoomDTO> allRooms = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_ALL_ROOMS);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                allRooms.add(roomMapper.toDTO(room(resultSet)));
+            }
+        }
+        List<RoomDTO> joinedRooms = userRooms(true);
+        List<RoomDTO> savedRooms = userRooms(false);
+        statements.queries = 3;
+
+        // the nested scans of the previous RoomEnrollmentFacadeIml.enrichRoomWithUserData
+        return allRooms.stream().map(room -> {
+            joinedRooms.stream().filter(joined -> joined.getId().equals(room.getId())).findFirst().ifPresent(joined -> {
+                room.setIsJoined(joined.getIsJoined());
+                room.setIsSaved(joined.getIsSaved());
+                room.setPercentageCompleted(joined.getPercentageCompleted());
+            });
+            savedRooms.stream().filter(saved -> saved.getId().equals(room.getId())).findFirst()
+                    .ifPresent(saved -> room.setIsSaved(true));
+            return room;
+        }).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<RoomDTO> singleJoinProjection(Statements statements) throws SQLException {
+        List<RoomDTO> catalog = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(CATALOG_PROJECTION)) {
+            statement.setLong(1, userId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    catalog.add(roomMapper.toUserSpecificDTO(new RoomCatalogRow(
+                            resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
+                            complexity(resultSet.getString(5)), resultSet.getString(6), resultSet.getInt(7),
+                            resultSet.getInt(8), localDateTime(resultSet.getTimestamp(9)), resultSet.getInt(10),
+                            resultSet.getInt(11), resultSet.getObject(12, Boolean.class),
+                            resultSet.getObject(13, Boolean.class), resultSet.getObject(14, Integer.class))));
+                }
+            }
+        }
+        statements.queries = 1;
+        return catalog;
+    }
+
+    // getJoinedRooms / getSavedRooms: the user with its memberships and their rooms, then filtered in memory
+    private List<RoomDTO> userRooms(boolean joined) throws SQLException {
+        List<RoomDTO> userRooms = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_USER_WITH_MEMBERSHIPS_AND_ROOMS)) {
+            statement.setLong(1, userId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    if (resultSet.getObject("room_id") == null) {
+                        continue;
+                    }
+                    RoomMembership membership = new RoomMembership();
+                    membership.setIsJoined(resultSet.getBoolean("is_joined"));
+                    membership.setIsSaved(resultSet.getBoolean("is_saved"));
+                    membership.setChallengesCompleted(resultSet.getInt("challenges_completed"));
+                    if (joined ? membership.getIsJoined() : membership.getIsSaved()) {
+                        userRooms.add(roomMapper.toUserSpecificDTO(room(resultSet), membership));
+                    }
+                }
+            }
+        }
+        return userRooms;
+    }
+
+    private Room room(ResultSet resultSet) throws SQLException {
+        return Room.builder()
+                .id(resultSet.getLong("id"))
+                .amiId(resultSet.getString("ami_id"))
+                .title(resultSet.getString("title"))
+                .description(resultSet.getString("description"))
+                .complexity(complexity(resultSet.getString("complexity")))
+                .imageURL(resultSet.getString("imageurl"))
+                .estimatedTime(resultSet.getInt("estimated_time"))
+                .totalChallenges(resultSet.getInt("total_challenges"))
+                .createdAt(localDateTime(resultSet.getTimestamp("created_at")))
+                .totalRunningInstances(resultSet.getInt("total_running_instances"))
+                .totalJoinedUsers(resultSet.getInt("total_joined_users"))
+                .build();
+    }
+
+    private Complexity complexity(String value) {
+        return value != null ? Complexity.valueOf(value) : null;
+    }
+
+    private LocalDateTime localDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
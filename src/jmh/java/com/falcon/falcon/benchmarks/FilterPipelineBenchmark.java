@@ -0,0 +1,75 @@
+package com.falcon.falcon.benchmarks;
+
+import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.enums.Complexity;
+import com.falcon.falcon.operations.composites.AndFilter;
+import com.falcon.falcon.operations.filters.CompletionFilter;
+import com.falcon.falcon.operations.filters.ComplexityFilter;
+import com.falcon.falcon.operations.filters.EnrollmentFilter;
+import com.falcon.falcon.operations.filters.FilterStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Catalog filtering with three active filters (complexity, enrollment, completion): the previous chained AndFilter
+ * (one stream and one collected list per filter) against the fused single-pass predicate.
+ *
+ * Run with -prof gc: gc.alloc.rate.norm is the allocation per filtered catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterPipelineBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rooms;
+
+    private List<RoomDTO> catalog;
+    private List<FilterStrategy> filters;
+    private AndFilter fused;
+
+    @Setup(Level.Trial)
+    public void buildCatalog() {
+        Random random = new Random(42);
+        Complexity[] complexities = Complexity.values();
+        catalog = new ArrayList<>(rooms);
+        for (long id = 1; id <= rooms; id++) {
+            boolean joined = random.nextInt(3) == 0;
+            catalog.add(RoomDTO.builder()
+                    .id(id)
+                    .title("Room " + id)
+                    .complexity(complexities[random.nextInt(complexities.length)])
+                    .isJoined(joined)
+                    .isSaved(random.nextBoolean())
+                    .percentageCompleted(joined ? random.nextInt(101) : 0)
+                    .build());
+        }
+        filters = List.of(new ComplexityFilter(Complexity.MEDIUM),
+                new EnrollmentFilter(EnrollmentFilter.EnrollmentStatus.ENROLLED),
+                new CompletionFilter(CompletionFilter.CompletionStatus.IN_PROGRESS));
+        fused = new AndFilter(filters);
+    }
+
+    // the previous AndFilter.apply: every filter streams the previous result into a new list
+    @Benchmark
+    public List<RoomDTO> chained() {
+        List<RoomDTO> result = catalog;
+        for (FilterStrategy filter : filters) {
+            result = result.stream().filter(filter::test).collect(Collectors.toList());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<RoomDTO> fused() {
+        return fused.apply(catalog);
+    }
+}
@@ -0,0 +1,153 @@
+package com.falcon.falcon.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent membership writes (read the row, then update its progress) from 8 threads on a few hot rows:
+ * the previous PESSIMISTIC_READ lookup (SELECT ... FOR SHARE held until commit) against the versioned read
+ * and conditional UPDATE replayed like RetryingTransactionTemplate does (3 attempts, 20 ms linear backoff with jitter).
+ *
+ * Two shared locks on the same row cannot both be upgraded, so under contention InnoDB kills one of the
+ * pessimistic writers as a deadlock victim, and the previous code had no retry. The failed counter is the number of
+ * writes lost that way (or given up after the last optimistic attempt), retries the number of optimistic replays,
+ * both summed over the iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class MembershipLockingBenchmark {
+    private static final String FIND_FOR_SHARE = "SELECT id, challenges_completed FROM room_membership " +
+            "WHERE room_id = ? AND user_id = ? FOR SHARE";
+    private static final String FIND_WITH_VERSION = "SELECT id, challenges_completed, version FROM room_membership " +
+            "WHERE room_id = ? AND user_id = ?";
+    private static final String UPDATE_PROGRESS = "UPDATE room_membership SET challenges_completed = ? WHERE id = ?";
+    private static final String UPDATE_PROGRESS_IF_VERSION = "UPDATE room_membership SET challenges_completed = ?, " +
+            "version = version + 1 WHERE id = ? AND version = ?";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BACKOFF_MS = 20;
+
+    // number of distinct memberships the threads write to, 1 is the worst case
+    @Param({"1", "16"})
+    public int hotRows;
+
+    private long userId;
+    private List<Long> roomIds;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long failed;
+        public long retries;
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        private Connection connection;
+
+        @Setup(Level.Trial)
+        public void open() throws SQLException {
+            connection = BenchmarkDatabase.connect();
+            connection.setAutoCommit(false);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void seed() throws SQLException {
+        try (Connection connection = BenchmarkDatabase.connect()) {
+            BenchmarkDatabase.deleteSeededRows(connection);
+            roomIds = new ArrayList<>(BenchmarkDatabase.insertRooms(connection, hotRows, 100, 1000));
+            userId = BenchmarkDatabase.insertUser(connection, "locking");
+            BenchmarkDatabase.insertMemberships(connection, userId, roomIds, 0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws SQLException {
+        try (Connection connection = BenchmarkDatabase.connect()) {
+            BenchmarkDatabase.deleteSeededRows(connection);
+        }
+    }
+
+    @Benchmark
+    public void pessimisticRead(Session session, Outcomes outcomes) throws SQLException {
+        Connection connection = session.connection;
+        try {
+            long[] row = read(connection, FIND_FOR_SHARE, hotRoom());
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_PROGRESS)) {
+                update.setLong(1, row[1] + 1);
+                update.setLong(2, row[0]);
+                update.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLTransactionRollbackException e) { // deadlock victim or lock wait timeout
+            connection.rollback();
+            outcomes.failed++;
+        }
+    }
+
+    @Benchmark
+    public void optimisticVersion(Session session, Outcomes outcomes) throws SQLException, InterruptedException {
+        Connection connection = session.connection;
+        long roomId = hotRoom();
+        for (int attempt = 1; ; attempt++) {
+            long[] row = read(connection, FIND_WITH_VERSION, roomId);
+            int updated;
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_PROGRESS_IF_VERSION)) {
+                update.setLong(1, row[1] + 1);
+                update.setLong(2, row[0]);
+                update.setLong(3, row[2]);
+                updated = update.executeUpdate();
+            }
+            if (updated == 1) {
+                connection.commit();
+                return;
+            }
+            connection.rollback(); // version changed since the read
+            if (attempt >= MAX_ATTEMPTS) {
+                outcomes.failed++;
+                return;
+            }
+            outcomes.retries++;
+            Thread.sleep(BACKOFF_MS * attempt + ThreadLocalRandom.current().nextLong(BACKOFF_MS));
+        }
+    }
+
+    private long hotRoom() {
+        return roomIds.get(ThreadLocalRandom.current().nextInt(roomIds.size()));
+    }
+
+    // id, challenges_completed and (when selected) version of the user's membership of the room
+    private long[] read(Connection connection, String query, long roomId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setLong(1, roomId);
+            statement.setLong(2, userId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                long[] row = new long[resultSet.getMetaData().getColumnCount()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = resultSet.getLong(i + 1);
+                }
+                return row;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.falcon.falcon.benchmarks;
+
+import com.falcon.falcon.services.ratelimit.InMemoryTokenBucketRateLimiter;
+import com.falcon.falcon.services.ratelimit.TokenBucketRateLimiter.Limit;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submission checks of the in-memory limiter from 8 threads, with the default limits (30 per user at 1 per second,
+ * 5 per challenge at 0.2 per second), so almost every check past the first seconds is a rejection.
+ *
+ * With users = 1 every thread brute-forces from the same account and contends on its bucket lock; with 1000 the
+ * checks are spread over distinct buckets. The difference is the cost of that lock on the rejection path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+    private static final int CHALLENGES = 20;
+
+    @Param({"1", "1000"})
+    public int users;
+
+    private InMemoryTokenBucketRateLimiter limiter;
+    private List<Limit>[] limits;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void buildLimits() {
+        limiter = new InMemoryTokenBucketRateLimiter();
+        limits = new List[users * CHALLENGES];
+        for (int user = 0; user < users; user++) {
+            for (int challenge = 0; challenge < CHALLENGES; challenge++) {
+                String userKey = "ratelimit:submit:{" + user + "}";
+                limits[user * CHALLENGES + challenge] = List.of(new Limit(userKey, 30, 1),
+                        new Limit(userKey + ":challenge:" + challenge, 5, 0.2));
+            }
+        }
+    }
+
+    @Benchmark
+    public long checkSubmission() {
+        return limiter.tryAcquire(limits[ThreadLocalRandom.current().nextInt(limits.length)]);
+    }
+}
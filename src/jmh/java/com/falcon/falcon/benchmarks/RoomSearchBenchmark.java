@@ -0,0 +1,109 @@
+package com.falcon.falcon.benchmarks;
+
+import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.dtos.catalog.RoomSearchDocument;
+import com.falcon.falcon.operations.filters.SearchFilter;
+import com.falcon.falcon.operations.search.RoomTrigramIndex;
+import com.falcon.falcon.repositories.RoomRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Room search: the previous SearchFilter (lowercase every title and description, then contains) against the
+ * trigram index, on a synthetic catalog of 1k, 10k and 100k rooms.
+ *
+ * Descriptions are about 400 characters of random words. "injection" is in 10% of the rooms, "kerberoasting" in 0.1%,
+ * "qz" is a term shorter than a trigram (answered by a scan of the indexed texts).
+ * indexedFilter is what a catalog request pays (a new SearchFilter looks the term up, then tests every room),
+ * indexSearch is the index lookup alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RoomSearchBenchmark {
+    private static final int DESCRIPTION_WORDS = 60;
+
+    @Param({"1000", "10000", "100000"})
+    public int rooms;
+
+    @Param({"injection", "kerberoasting", "qz"})
+    public String term;
+
+    private List<RoomDTO> catalog;
+    private RoomTrigramIndex index;
+
+    @Setup(Level.Trial)
+    public void buildCatalog() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[5000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random);
+        }
+
+        catalog = new ArrayList<>(rooms);
+        List<RoomSearchDocument> documents = new ArrayList<>(rooms);
+        for (long id = 1; id <= rooms; id++) {
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < DESCRIPTION_WORDS; w++) {
+                description.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+            }
+            if (id % 10 == 0) {
+                description.append("SQL Injection ");
+            }
+            if (id % 1000 == 0) {
+                description.append("Kerberoasting ");
+            }
+            String title = "Room " + vocabulary[random.nextInt(vocabulary.length)];
+            catalog.add(RoomDTO.builder().id(id).title(title).description(description.toString()).build());
+            documents.add(new RoomSearchDocument(id, title, description.toString()));
+        }
+
+        // the index only reads findAllSearchDocuments from the repository
+        RoomRepository roomRepository = (RoomRepository) Proxy.newProxyInstance(RoomRepository.class.getClassLoader(),
+                new Class<?>[]{RoomRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findAllSearchDocuments")) {
+                        return documents;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        index = new RoomTrigramIndex(roomRepository, true);
+        index.rebuild();
+    }
+
+    @Benchmark
+    public List<RoomDTO> linearScan() {
+        return catalog.stream()
+                .filter(room ->
+                        (room.getTitle() != null && room.getTitle().toLowerCase().contains(term)) ||
+                        (room.getDescription() != null && room.getDescription().toLowerCase().contains(term)))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<RoomDTO> indexedFilter() {
+        return new SearchFilter(term, index).apply(catalog);
+    }
+
+    @Benchmark
+    public Set<Long> indexSearch() {
+        return index.search(term);
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
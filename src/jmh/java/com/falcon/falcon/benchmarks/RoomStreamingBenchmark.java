@@ -0,0 +1,101 @@
+package com.falcon.falcon.benchmarks;
+
+import com.falcon.falcon.controllers.RoomJsonStreamWriter;
+import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.enums.Complexity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Unpaged room list responses: the previous path (collect a List<RoomDTO>, then hand it to Jackson) against
+ * RoomJsonStreamWriter, which serializes every room as the source produces it. Both write to a sink that only counts
+ * the bytes, the rooms are generated one by one like rows read from the database.
+ *
+ * Run with -prof gc for the allocation per response (gc.alloc.rate.norm). To check that the streamed response keeps
+ * a flat heap, run with a small heap and a large catalog, e.g. -jvmArgsAppend -Xmx128m -p rooms=1000000:
+ * the list path runs out of memory, the streamed one completes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomStreamingBenchmark {
+    private static final String EXCERPT = "Exploit a vulnerable web application step by step, from the first recon " +
+            "to the root shell, with hints for every challenge along the way and a write-up once the room is comp…";
+
+    @Param({"10000", "100000"})
+    public int rooms;
+
+    private ObjectMapper objectMapper;
+    private RoomJsonStreamWriter streamWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        streamWriter = new RoomJsonStreamWriter(objectMapper);
+    }
+
+    @Benchmark
+    public long listThenSerialize() throws IOException {
+        List<RoomDTO> list = new ArrayList<>();
+        produceRooms(list::add);
+        CountingOutputStream sink = new CountingOutputStream();
+        objectMapper.writeValue(sink, list);
+        return sink.count;
+    }
+
+    @Benchmark
+    public long streamed() throws IOException {
+        CountingOutputStream sink = new CountingOutputStream();
+        streamWriter.stream(this::produceRooms).writeTo(sink);
+        return sink.count;
+    }
+
+    private void produceRooms(Consumer<RoomDTO> consumer) {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+        Complexity[] complexities = Complexity.values();
+        for (long id = 1; id <= rooms; id++) {
+            consumer.accept(RoomDTO.builder()
+                    .id(id)
+                    .amiId("ami-" + id)
+                    .title("Room " + id)
+                    .excerpt(EXCERPT)
+                    .complexity(complexities[(int) (id % complexities.length)])
+                    .imageURL("https://cdn.falcon.test/rooms/" + id + ".png")
+                    .estimatedTime(60)
+                    .totalChallenges(8)
+                    .createdAt(createdAt.plusMinutes(id))
+                    .totalJoinedUsers((int) (id % 500))
+                    .isJoined(id % 7 == 0)
+                    .isSaved(id % 11 == 0)
+                    .percentageCompleted((int) (id % 101))
+                    .build());
+        }
+    }
+
+    // stands for the servlet output stream, keeps nothing
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.falcon.falcon.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wrong flag submissions from 8 threads, one user per thread, on the challenges of one room: the previous write path
+ * (read the submission state, then rewrite submitted_flag on the FlagSubmission row, one transaction per attempt)
+ * against the attempt log (the same state read, the attempt buffered and inserted in JDBC batches of batchSize).
+ *
+ * The flush runs on the submitting thread every batchSize attempts, so its cost is charged to the attempts instead
+ * of a background thread: the attempt log figure is a lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class SubmissionAttemptBenchmark {
+    private static final int THREADS = 8;
+    private static final int CHALLENGES = 20;
+    private static final String FIND_STATE = "SELECT id, is_correct FROM flag_submission WHERE user_id = ? AND challenge_id = ?";
+    private static final String UPDATE_INCORRECT_ATTEMPT = "UPDATE flag_submission SET submitted_flag = ? WHERE id = ? AND is_correct = false";
+    private static final String INSERT_ATTEMPT = "INSERT INTO flag_submission_attempt (user_id, challenge_id, submitted_flag, " +
+            "is_correct, attempted_at) VALUES (?, ?, ?, false, ?)";
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    private long[] userIds;
+    private List<Long> challengeIds;
+    private final AtomicInteger sessions = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Session {
+        private Connection connection;
+        private long userId;
+        private PreparedStatement pendingAttempts;
+        private int pending;
+
+        @Setup(Level.Trial)
+        public void open(SubmissionAttemptBenchmark benchmark) throws SQLException {
+            connection = BenchmarkDatabase.connect();
+            connection.setAutoCommit(false);
+            userId = benchmark.userIds[benchmark.sessions.getAndIncrement() % THREADS];
+            pendingAttempts = connection.prepareStatement(INSERT_ATTEMPT);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            pendingAttempts.close();
+            connection.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void seed() throws SQLException {
+        try (Connection connection = BenchmarkDatabase.connect()) {
+            BenchmarkDatabase.deleteSeededRows(connection);
+            long roomId = BenchmarkDatabase.insertRooms(connection, 1, 100, CHALLENGES).get(0);
+            challengeIds = BenchmarkDatabase.insertChallenges(connection, roomId, CHALLENGES);
+            userIds = new long[THREADS];
+            for (int i = 0; i < THREADS; i++) {
+                userIds[i] = BenchmarkDatabase.insertUser(connection, "attempts-" + i);
+                BenchmarkDatabase.insertIncorrectSubmissions(connection, userIds[i], challengeIds);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws SQLException {
+        try (Connection connection = BenchmarkDatabase.connect()) {
+            BenchmarkDatabase.deleteSeededRows(connection);
+        }
+    }
+
+    @Benchmark
+    public void rewriteSubmission(Session session) throws SQLException {
+        long challengeId = challenge();
+        long submissionId = findState(session, challengeId);
+        try (PreparedStatement update = session.connection.prepareStatement(UPDATE_INCORRECT_ATTEMPT)) {
+            update.setString(1, guess());
+            update.setLong(2, submissionId);
+            update.executeUpdate();
+        }
+        session.connection.commit();
+    }
+
+    @Benchmark
+    public void appendAttempt(Session session) throws SQLException {
+        long challengeId = challenge();
+        findState(session, challengeId);
+        session.connection.commit();
+
+        PreparedStatement attempts = session.pendingAttempts;
+        attempts.setLong(1, session.userId);
+        attempts.setLong(2, challengeId);
+        attempts.setString(3, guess());
+        attempts.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+        attempts.addBatch();
+        if (++session.pending == batchSize) {
+            attempts.executeBatch();
+            session.connection.commit();
+            session.pending = 0;
+        }
+    }
+
+    private long challenge() {
+        return challengeIds.get(ThreadLocalRandom.current().nextInt(challengeIds.size()));
+    }
+
+    private static String guess() {
+        return "FLAG{" + Long.toHexString(ThreadLocalRandom.current().nextLong()) + "}";
+    }
+
+    // id of the user's still incorrect submission
+    private static long findState(Session session, long challengeId) throws SQLException {
+        try (PreparedStatement statement = session.connection.prepareStatement(FIND_STATE)) {
+            statement.setLong(1, session.userId);
+            statement.setLong(2, challengeId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
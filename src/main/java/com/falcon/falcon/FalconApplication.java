@@ -5,8 +5,10 @@ import io.github.cdimascio.dotenv.Dotenv;
 // import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // periodic flushes and reconciliations (e.g. room counters)
 public class FalconApplication {
 	public static void main(String[] args) {
 		System.out.println("Falcon application started");
@@ -0,0 +1,25 @@
+package com.falcon.falcon.config.ratelimit;
+
+import com.falcon.falcon.enums.RateLimiterMode;
+import com.falcon.falcon.services.ratelimit.InMemoryTokenBucketRateLimiter;
+import com.falcon.falcon.services.ratelimit.RedisTokenBucketRateLimiter;
+import com.falcon.falcon.services.ratelimit.TokenBucketRateLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+// picks where the submission token buckets live (submissions.rate-limit.mode)
+@Configuration
+public class RateLimiterConfig {
+
+    @Bean
+    public TokenBucketRateLimiter submissionRateLimiterBuckets(@Value("${submissions.rate-limit.mode:MEMORY}") RateLimiterMode mode,
+                                                              ObjectProvider<RedisTemplate<String, Object>> redisTemplate) {
+        return switch (mode) {
+            case MEMORY -> new InMemoryTokenBucketRateLimiter();
+            case REDIS -> new RedisTokenBucketRateLimiter(redisTemplate.getObject());
+        };
+    }
+}
@@ -1,6 +1,8 @@
 package com.falcon.falcon.config.strategy;
 
 import com.falcon.falcon.dtos.RoomFilterCriteria;
+import com.falcon.falcon.operations.sorters.ComplexitySorter;
+import com.falcon.falcon.operations.sorters.EstimatedTimeSorter;
 import com.falcon.falcon.operations.sorters.SortStrategy;
 import com.falcon.falcon.operations.sorters.MostUsersSorter;
 import com.falcon.falcon.operations.sorters.NewestRoomsSorter;
@@ -15,10 +17,15 @@ public class SortingStrategyConfig {
 
     private final NewestRoomsSorter newestRoomsSorter;
     private final MostUsersSorter mostUsersSorter;
+    private final ComplexitySorter complexitySorter;
+    private final EstimatedTimeSorter estimatedTimeSorter;
 
-    public SortingStrategyConfig(NewestRoomsSorter newestRoomsSorter, MostUsersSorter mostUsersSorter) {
+    public SortingStrategyConfig(NewestRoomsSorter newestRoomsSorter, MostUsersSorter mostUsersSorter,
+                                 ComplexitySorter complexitySorter, EstimatedTimeSorter estimatedTimeSorter) {
         this.newestRoomsSorter = newestRoomsSorter;
         this.mostUsersSorter = mostUsersSorter;
+        this.complexitySorter = complexitySorter;
+        this.estimatedTimeSorter = estimatedTimeSorter;
     }
 
     @Bean
@@ -26,6 +33,8 @@ public class SortingStrategyConfig {
         Map<RoomFilterCriteria.SortBy, SortStrategy> strategies = new EnumMap<>(RoomFilterCriteria.SortBy.class);
         strategies.put(RoomFilterCriteria.SortBy.NEWEST, newestRoomsSorter);
         strategies.put(RoomFilterCriteria.SortBy.MOST_USERS, mostUsersSorter);
+        strategies.put(RoomFilterCriteria.SortBy.COMPLEXITY, complexitySorter);
+        strategies.put(RoomFilterCriteria.SortBy.ESTIMATED_TIME, estimatedTimeSorter);
         return strategies;
     }
 }
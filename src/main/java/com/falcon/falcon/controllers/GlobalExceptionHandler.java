@@ -5,17 +5,21 @@ import com.falcon.falcon.exceptions.authExceptions.CodeExpiredException;
 import com.falcon.falcon.exceptions.authExceptions.EmaiNotVerifiedOrRequestIdNotValid;
 import com.falcon.falcon.exceptions.authExceptions.VerificationCodeInvalid;
 import com.falcon.falcon.exceptions.challengeExceptions.ChallengeNotFoundException;
+import com.falcon.falcon.exceptions.challengeExceptions.SubmissionRateLimitExceededException;
 import com.falcon.falcon.exceptions.instanceExceptions.InstanceConfigurationException;
 import com.falcon.falcon.exceptions.instanceExceptions.InstanceNotFoundException;
 import com.falcon.falcon.exceptions.instanceExceptions.InstanceOperationFailedException;
 import com.falcon.falcon.exceptions.instanceExceptions.InstanceProvisioningException;
 import com.falcon.falcon.exceptions.instanceExceptions.InvalidInstanceStateException;
+import com.falcon.falcon.exceptions.membershipExceptions.InvalidBulkEnrollmentException;
 import com.falcon.falcon.exceptions.membershipExceptions.RoomMembershipNotFoundException;
+import com.falcon.falcon.exceptions.roomExceptions.InvalidCatalogCursorException;
 import com.falcon.falcon.exceptions.roomExceptions.RoomAlreadySavedException;
 import com.falcon.falcon.exceptions.roomExceptions.RoomNotFoundException;
 import com.falcon.falcon.exceptions.userExceptions.RoleNotFoundException;
 import com.falcon.falcon.exceptions.userExceptions.UserAlreadyExistsException;
 import com.falcon.falcon.exceptions.userExceptions.UserNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -135,6 +139,41 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(SubmissionRateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleSubmissionRateLimitExceededException(SubmissionRateLimitExceededException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "TOO_MANY_SUBMISSIONS",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidBulkEnrollmentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBulkEnrollmentException(InvalidBulkEnrollmentException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "INVALID_BULK_ENROLLMENT",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCatalogCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCatalogCursorException(InvalidCatalogCursorException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "INVALID_CATALOG_CURSOR",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleUserNotFoundException(AuthenticationException ex, WebRequest request) {
         ErrorResponse errorResponse = new ErrorResponse(
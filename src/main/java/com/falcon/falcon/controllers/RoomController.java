@@ -2,24 +2,34 @@ package com.falcon.falcon.controllers;
 
 import com.falcon.falcon.dtos.RoomDTO;
 import com.falcon.falcon.services.RoomService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/rooms")
 public class RoomController {
     private final RoomService roomService;
-    public RoomController(RoomService roomService) {
+    private final RoomJsonStreamWriter roomJsonStreamWriter;
+    private final boolean streamingEnabled;
+
+    public RoomController(RoomService roomService, RoomJsonStreamWriter roomJsonStreamWriter,
+                          @Value("${rooms.streaming.enabled:true}") boolean streamingEnabled) {
         this.roomService = roomService;
+        this.roomJsonStreamWriter = roomJsonStreamWriter;
+        this.streamingEnabled = streamingEnabled;
     }
 
+    // streaming mode: rooms are written to the response while they are read from the database (same JSON array)
     @GetMapping
-    public ResponseEntity<List<RoomDTO>> getAllRooms() {
-        List<RoomDTO> rooms = roomService.getAllRooms();
-        return new ResponseEntity<>(rooms, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> getAllRooms() {
+        StreamingResponseBody body = streamingEnabled
+                ? roomJsonStreamWriter.stream(roomService::forEachRoom)
+                : roomJsonStreamWriter.stream(roomService.getAllRooms()::forEach);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/{roomId}")
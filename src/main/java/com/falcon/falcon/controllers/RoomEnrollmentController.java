@@ -2,11 +2,19 @@ package com.falcon.falcon.controllers;
 
 import com.falcon.falcon.dtos.RoomDTO;
 import com.falcon.falcon.dtos.RoomFilterCriteria;
+import com.falcon.falcon.dtos.catalog.CursorPage;
+import com.falcon.falcon.dtos.catalog.RoomCatalogFacets;
+import com.falcon.falcon.dtos.enrollment.BulkEnrollmentRequest;
+import com.falcon.falcon.dtos.enrollment.BulkEnrollmentResult;
 import com.falcon.falcon.facades.RoomEnrollmentFacade;
-import com.falcon.falcon.services.RoomOperationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -44,25 +52,46 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/users") // resource path
 public class RoomEnrollmentController {
+    // response header carrying the cursor of the next catalog page (absent on the last page)
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String NEXT_PAGE_HEADER = "X-Next-Page";
+
     private final RoomEnrollmentFacade roomEnrollmentFacade;
-    private final RoomOperationService roomOperationService;
+    private final RoomJsonStreamWriter roomJsonStreamWriter;
+    private final boolean streamingEnabled;
 
-    public RoomEnrollmentController(
-            RoomEnrollmentFacade roomEnrollmentFacade,
-            RoomOperationService roomOperationService) {
+    public RoomEnrollmentController(RoomEnrollmentFacade roomEnrollmentFacade, RoomJsonStreamWriter roomJsonStreamWriter,
+                                    @Value("${rooms.streaming.enabled:true}") boolean streamingEnabled) {
         this.roomEnrollmentFacade = roomEnrollmentFacade;
-        this.roomOperationService = roomOperationService;
+        this.roomJsonStreamWriter = roomJsonStreamWriter;
+        this.streamingEnabled = streamingEnabled;
     }
 
+    // filters, sortBy, limit and cursor are bound from the query string
+    // the body stays a plain list of rooms, the next page is requested by sending back the X-Next-Cursor header value as ?cursor=
+    // an unpaged request (no limit, no cursor) is the whole catalog: in streaming mode it is written room by room while it is produced
     @GetMapping("/{userId}/rooms")
-    public ResponseEntity<List<RoomDTO>> getRoomCatalog(@PathVariable long userId, @ModelAttribute RoomFilterCriteria criteria) {
-        // Get base room catalog
-        List<RoomDTO> rooms = roomEnrollmentFacade.getRoomCatalogForUser(userId);
-        
-        // Apply filters and sorting using the operation service
-        List<RoomDTO> processedRooms = roomOperationService.applyFiltersAndSorting(rooms, criteria);
-        
-        return new ResponseEntity<>(processedRooms, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> getRoomCatalog(@PathVariable long userId, @ModelAttribute RoomFilterCriteria criteria) {
+        if (streamingEnabled && criteria.getLimit() == null && criteria.getCursor() == null) {
+            StreamingResponseBody body = roomJsonStreamWriter.stream(consumer -> roomEnrollmentFacade.forEachRoomOfCatalog(userId, criteria, consumer));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+
+        CursorPage<RoomDTO> page = roomEnrollmentFacade.getRoomCatalogForUser(userId, criteria);
+
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.add(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new ResponseEntity<>(roomJsonStreamWriter.stream(page.getContent()::forEach), headers, HttpStatus.OK);
+    }
+
+    // counts per complexity / enrollment status / completion status of the rooms matching the search term
+    @GetMapping("/{userId}/rooms/facets")
+    public ResponseEntity<RoomCatalogFacets> getRoomCatalogFacets(@PathVariable long userId, @RequestParam(required = false) String searchTerm) {
+        RoomCatalogFacets facets = roomEnrollmentFacade.getRoomCatalogFacets(userId, searchTerm);
+        return new ResponseEntity<>(facets, HttpStatus.OK);
     }
 
     @GetMapping("/{userId}/joined-rooms")
@@ -77,10 +106,17 @@ public class RoomEnrollmentController {
         return new ResponseEntity<>(rooms, HttpStatus.OK);
     }
 
+    // paged by the database, the body stays a plain list; X-Next-Page holds the number of the next page when there is one
     @GetMapping("/{userId}/completed-rooms")
-    public ResponseEntity<List<RoomDTO>> getCompletedRooms(@PathVariable long userId) {
-        List<RoomDTO> rooms = roomEnrollmentFacade.getCompletedRooms(userId);
-        return new ResponseEntity<>(rooms, HttpStatus.OK);
+    public ResponseEntity<List<RoomDTO>> getCompletedRooms(@PathVariable long userId,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "20") int size) {
+        Slice<RoomDTO> rooms = roomEnrollmentFacade.getCompletedRooms(userId, page, size);
+        HttpHeaders headers = new HttpHeaders();
+        if (rooms.hasNext()) {
+            headers.add(NEXT_PAGE_HEADER, String.valueOf(rooms.getNumber() + 1));
+        }
+        return new ResponseEntity<>(rooms.getContent(), headers, HttpStatus.OK);
     }
 
     @GetMapping("/{userId}/joined-rooms/{roomId}")
@@ -107,6 +143,13 @@ public class RoomEnrollmentController {
         return ResponseEntity.ok().build();
     }
 
+    // one call for a whole cohort: {"action": "JOIN", "enrollments": [{"userId": 1, "roomId": 2}, ...]}
+    @PostMapping("/memberships/bulk")
+    public ResponseEntity<BulkEnrollmentResult> bulkEnroll(@RequestBody BulkEnrollmentRequest request) {
+        BulkEnrollmentResult result = roomEnrollmentFacade.bulkEnroll(request);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     @PostMapping("/{userId}/rooms/{roomId}/unsave")
     public ResponseEntity<Void> unSaveRoom(@PathVariable long userId, @PathVariable long roomId) {
         roomEnrollmentFacade.unsaveRoom(userId, roomId);
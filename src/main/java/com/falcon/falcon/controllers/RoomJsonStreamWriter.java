@@ -0,0 +1,60 @@
+package com.falcon.falcon.controllers;
+
+import com.falcon.falcon.dtos.RoomDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes a JSON array of rooms directly to the response while the rooms are produced.
+ *
+ * The body is the same array Jackson would render for a List<RoomDTO> (the application's ObjectMapper is used),
+ * but each room is serialized as soon as the source hands it over, so neither the list nor the whole
+ * serialized buffer has to be held on the heap. The generator buffers and flushes in chunks.
+ */
+@Component
+public class RoomJsonStreamWriter {
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter roomWriter;
+
+    // a source pushes its rooms, in order, to the given consumer
+    @FunctionalInterface
+    public interface RoomSource {
+        void forEach(Consumer<RoomDTO> consumer);
+    }
+
+    public RoomJsonStreamWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // no flush after every room, the generator flushes its buffer when it is full and on close
+        this.roomWriter = objectMapper.writerFor(RoomDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public StreamingResponseBody stream(RoomSource source) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                try {
+                    source.forEach(room -> write(generator, room));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause(); // client gone or broken pipe, stops the source
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    private void write(JsonGenerator generator, RoomDTO room) {
+        try {
+            roomWriter.writeValue(generator, room);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.falcon.falcon.dtos.statistics.GlobalRoomStatsDTO;
 import com.falcon.falcon.dtos.statistics.ProfileStatisticsDTO;
+import com.falcon.falcon.dtos.statistics.SecondLevelCacheStatsDTO;
+import com.falcon.falcon.dtos.statistics.SolveEventQueueStatsDTO;
 import com.falcon.falcon.services.StatisticsService;
 
 @RestController
@@ -30,5 +32,17 @@ public class StatisticsController {
     public ResponseEntity<GlobalRoomStatsDTO> getGlobalRoomStatistics(@PathVariable Long userId) {
         // TODO: Add validation/error handling
         return ResponseEntity.ok(statisticsService.getGlobalRoomStatistics(userId));
-    }    
+    }
+
+    // depth, lag and throughput of the solve event queue (room progress is applied asynchronously)
+    @GetMapping("/solve-events")
+    public ResponseEntity<SolveEventQueueStatsDTO> getSolveEventQueueStatistics() {
+        return ResponseEntity.ok(statisticsService.getSolveEventQueueStatistics());
+    }
+
+    // Hibernate second-level cache hit/miss ratio, global and per region
+    @GetMapping("/cache")
+    public ResponseEntity<SecondLevelCacheStatsDTO> getSecondLevelCacheStatistics() {
+        return ResponseEntity.ok(statisticsService.getSecondLevelCacheStatistics());
+    }
 }
@@ -9,7 +9,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime; // Added import
 import java.util.List;
 
-@Builder
+@Builder(toBuilder = true)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +19,8 @@ public class RoomDTO {
     private Long id;
     private String amiId;
     private String title;
-    private String description;
+    private String description; // full text, only set on detail views (the catalog never loads it)
+    private String excerpt; // short teaser of the description shown on the catalog cards
     private Complexity complexity; // the complexity
     private String imageURL; // the image of the room
     private int estimatedTime; // the estimated time to complete the room
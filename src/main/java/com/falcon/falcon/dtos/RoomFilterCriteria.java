@@ -5,15 +5,20 @@ import com.falcon.falcon.operations.filters.CompletionFilter.CompletionStatus;
 import com.falcon.falcon.operations.filters.EnrollmentFilter.EnrollmentStatus;
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class RoomFilterCriteria {
     private Complexity complexity;
     private EnrollmentStatus enrollmentStatus;
     private CompletionStatus completionStatus;
     private String searchTerm;
-    private SortBy sortBy;
+    private SortBy sortBy; // primary sort key
+    private List<SortBy> thenBy; // secondary sort keys, in order, breaking the ties of the previous keys
+    private Integer limit; // page size (DATABASE engine) or top-K size (MEMORY engine), null means the whole filtered catalog
+    private String cursor; // opaque keyset token returned with the previous page (X-Next-Cursor header)
     
     public enum SortBy {
-        NEWEST, MOST_USERS
+        NEWEST, MOST_USERS, COMPLEXITY, ESTIMATED_TIME
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.falcon.falcon.dtos.catalog;
+
+import com.falcon.falcon.enums.Complexity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the joined room detail query: the room and the user's membership, repeated on every row,
+ * plus one challenge of the room and whether the user already solved it.
+ * The challenge columns are null when the room has no challenge (LEFT JOIN miss, single row).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JoinedRoomChallengeRow {
+    // room columns
+    private Long roomId;
+    private String amiId;
+    private String roomTitle;
+    private String roomDescription;
+    private Complexity complexity;
+    private String imageURL;
+    private Integer estimatedTime;
+    private Integer totalChallenges;
+    private LocalDateTime createdAt;
+    private Integer totalRunningInstances;
+    private Integer totalJoinedUsers;
+    // membership columns
+    private Boolean isJoined;
+    private Boolean isSaved;
+    private Integer challengesCompleted;
+    // challenge columns (null when the room has no challenge)
+    private Long challengeId;
+    private String challengeName;
+    private String challengeTitle;
+    private String challengeDescription;
+    private String challengeInstructions;
+    private Boolean challengeCompleted;
+}
@@ -0,0 +1,16 @@
+package com.falcon.falcon.dtos.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// the user specific part of a catalog entry, read from the user's RoomMembership rows only
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipOverlay {
+    private Long roomId;
+    private Boolean isJoined;
+    private Boolean isSaved;
+    private Integer challengesCompleted;
+}
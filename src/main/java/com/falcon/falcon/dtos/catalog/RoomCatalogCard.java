@@ -0,0 +1,33 @@
+package com.falcon.falcon.dtos.catalog;
+
+import com.falcon.falcon.enums.Complexity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Card view of a room, filled by a JPQL constructor expression that never selects the LONGTEXT description.
+ * Only the first DESCRIPTION_HEAD_LENGTH characters are read (SUBSTRING in SQL): one more than the excerpt
+ * length so the mapper can tell whether the description was cut (see RoomMapper.excerpt).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomCatalogCard {
+    public static final int EXCERPT_LENGTH = 200;
+    public static final int DESCRIPTION_HEAD_LENGTH = EXCERPT_LENGTH + 1;
+
+    private Long id;
+    private String amiId;
+    private String title;
+    private String descriptionHead;
+    private Complexity complexity;
+    private String imageURL;
+    private Integer estimatedTime;
+    private Integer totalChallenges;
+    private LocalDateTime createdAt;
+    private Integer totalRunningInstances;
+    private Integer totalJoinedUsers;
+}
@@ -0,0 +1,24 @@
+package com.falcon.falcon.dtos.catalog;
+
+import com.falcon.falcon.enums.Complexity;
+import com.falcon.falcon.operations.filters.CompletionFilter.CompletionStatus;
+import com.falcon.falcon.operations.filters.EnrollmentFilter.EnrollmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Number of catalog rooms per filter value ("Easy (12) / Medium (8) / Joined (3)"), for one user and search term.
+ * Every value of each facet is present (0 when no room matches), the ALL values are given by totalRooms.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomCatalogFacets {
+    private long totalRooms; // rooms matching the search term
+    private Map<Complexity, Long> complexity;
+    private Map<EnrollmentStatus, Long> enrollmentStatus;
+    private Map<CompletionStatus, Long> completionStatus;
+}
@@ -0,0 +1,35 @@
+package com.falcon.falcon.dtos.catalog;
+
+import com.falcon.falcon.enums.Complexity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a room joined with the caller's membership row (if any).
+ * It is filled directly by a JPQL constructor expression, so the membership columns
+ * are null when the user never joined or saved the room (LEFT JOIN miss).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomCatalogRow {
+    // room columns
+    private Long id;
+    private String amiId;
+    private String title;
+    private String descriptionHead; // first RoomCatalogCard.DESCRIPTION_HEAD_LENGTH characters, the LONGTEXT is never read
+    private Complexity complexity;
+    private String imageURL;
+    private Integer estimatedTime;
+    private Integer totalChallenges;
+    private LocalDateTime createdAt;
+    private Integer totalRunningInstances;
+    private Integer totalJoinedUsers;
+    // membership columns (null when there is no membership)
+    private Boolean isJoined;
+    private Boolean isSaved;
+    private Integer challengesCompleted;
+}
@@ -0,0 +1,50 @@
+package com.falcon.falcon.dtos.catalog;
+
+import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.dtos.RoomFilterCriteria.SortBy;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, versioned copy of the user-agnostic room catalog shared by every request.
+ *
+ * The rooms are base DTOs (isJoined/isSaved false, 0% completed) ordered by id. They are shared between
+ * threads and must never be mutated: user specific data is applied on copies (see RoomCatalogService).
+ * A change to a room produces a new snapshot with a higher version (copy-on-write).
+ *
+ * The same rooms are also kept pre-ordered for every sort key (then by id), the sort keys only depend
+ * on room columns so the order is the same for every user and a sorted request does not have to sort.
+ */
+@Getter
+public class RoomCatalogSnapshot {
+    private final long version;
+    private final List<RoomDTO> rooms;
+    private final Map<Long, RoomDTO> roomsById;
+    private final Map<SortBy, List<RoomDTO>> orderedRooms;
+
+    public RoomCatalogSnapshot(long version, List<RoomDTO> rooms, Map<SortBy, List<RoomDTO>> orderedRooms) {
+        this.version = version;
+        this.rooms = List.copyOf(rooms);
+        Map<Long, RoomDTO> byId = new HashMap<>();
+        for (RoomDTO room : this.rooms) {
+            byId.put(room.getId(), room);
+        }
+        this.roomsById = Collections.unmodifiableMap(byId);
+        Map<SortBy, List<RoomDTO>> byOrder = new EnumMap<>(SortBy.class);
+        orderedRooms.forEach((order, ordered) -> byOrder.put(order, List.copyOf(ordered)));
+        this.orderedRooms = Collections.unmodifiableMap(byOrder);
+    }
+
+    // the rooms in the given order, in id order when there is no sort key or no index for it
+    public List<RoomDTO> getRooms(SortBy order) {
+        if (order == null) {
+            return rooms;
+        }
+        return orderedRooms.getOrDefault(order, rooms);
+    }
+}
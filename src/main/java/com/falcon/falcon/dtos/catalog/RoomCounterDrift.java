@@ -0,0 +1,18 @@
+package com.falcon.falcon.dtos.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A room's stored running instances counter next to the number of its instances actually RUNNING,
+ * filled by the GROUP BY reconciliation query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomCounterDrift {
+    private Long roomId;
+    private Integer stored;
+    private Long counted;
+}
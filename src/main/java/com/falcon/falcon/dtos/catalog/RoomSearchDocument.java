@@ -0,0 +1,15 @@
+package com.falcon.falcon.dtos.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// the searchable text of a room, read through a JPQL constructor expression to build the search index
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomSearchDocument {
+    private Long id;
+    private String title;
+    private String description;
+}
@@ -0,0 +1,14 @@
+package com.falcon.falcon.dtos.challenge;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// the two columns flag verification needs, read without the challenge's LONGTEXT description and instructions
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChallengeFlagRow {
+    private Long roomId;
+    private String flag;
+}
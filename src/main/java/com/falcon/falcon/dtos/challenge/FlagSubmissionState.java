@@ -0,0 +1,14 @@
+package com.falcon.falcon.dtos.challenge;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// a user's existing submission for a challenge, read without the submission's user and challenge
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlagSubmissionState {
+    private Long id;
+    private Boolean isCorrect;
+}
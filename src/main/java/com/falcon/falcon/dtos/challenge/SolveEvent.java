@@ -0,0 +1,16 @@
+package com.falcon.falcon.dtos.challenge;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// a challenge turned from unsolved to solved by a user, published once the submission is committed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolveEvent {
+    private Long userId;
+    private Long roomId;
+    private Long challengeId;
+    private long publishedAtMillis; // System.currentTimeMillis() at enqueue, used to measure the consumer lag
+}
@@ -0,0 +1,17 @@
+package com.falcon.falcon.dtos.enrollment;
+
+import com.falcon.falcon.enums.BulkEnrollmentAction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// one action (join, save or leave) applied to many (user, room) pairs, e.g. a cohort enrolled into a set of rooms
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEnrollmentRequest {
+    private BulkEnrollmentAction action;
+    private List<EnrollmentPair> enrollments;
+}
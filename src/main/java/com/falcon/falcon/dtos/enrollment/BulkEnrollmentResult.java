@@ -0,0 +1,18 @@
+package com.falcon.falcon.dtos.enrollment;
+
+import com.falcon.falcon.enums.BulkEnrollmentAction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEnrollmentResult {
+    private BulkEnrollmentAction action;
+    private int requested; // distinct pairs in the request
+    private int changed; // pairs whose membership actually changed (already joined/saved pairs are not counted)
+    private Map<Long, Integer> joinedUsersDeltas; // roomId -> change of totalJoinedUsers, applied once per room
+}
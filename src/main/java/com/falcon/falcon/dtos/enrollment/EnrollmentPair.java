@@ -0,0 +1,13 @@
+package com.falcon.falcon.dtos.enrollment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentPair {
+    private Long userId;
+    private Long roomId;
+}
@@ -0,0 +1,31 @@
+package com.falcon.falcon.dtos.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SecondLevelCacheStatsDTO {
+    private long hitCount;   // entity/collection reads served by the second-level cache
+    private long missCount;  // reads that went to the database
+    private long putCount;   // entries stored in the cache
+    private double hitRatio; // hits / (hits + misses), 0 when nothing was read yet
+    private Map<String, CacheRegionStats> regions; // per cache region (entity or collection role)
+
+    @Builder
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheRegionStats {
+        private long hitCount;
+        private long missCount;
+        private long putCount;
+        private double hitRatio;
+    }
+}
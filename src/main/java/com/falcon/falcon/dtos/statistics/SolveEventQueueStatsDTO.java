@@ -0,0 +1,22 @@
+package com.falcon.falcon.dtos.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolveEventQueueStatsDTO {
+    private int depth;              // events waiting in the queue
+    private int capacity;           // queue bound, a full queue makes the request apply its event itself
+    private long lagMs;             // age of the oldest waiting event, 0 when the queue is empty
+    private long published;         // events accepted by the queue since startup
+    private long processed;         // events applied by the consumer
+    private long processedInline;   // events applied on the request thread because the queue was full
+    private long failed;            // events that could not be applied (the scheduled repair fixes their counters)
+    private int lastBatchSize;
+    private long lastBatchDurationMs;
+}
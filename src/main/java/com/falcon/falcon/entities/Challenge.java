@@ -1,5 +1,6 @@
 package com.falcon.falcon.entities;
 
+import com.falcon.falcon.entities.listeners.ChallengeFlagListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,7 +10,10 @@ import lombok.NoArgsConstructor;
 import java.util.ArrayList;
 import java.util.Collection;
 
+// not in the second-level cache: an entry would hold the plaintext flag and the LONGTEXT texts,
+// submissions only need the flag digest kept by FlagVerifier
 @Entity
+@EntityListeners(ChallengeFlagListener.class) // evicts the cached flag digest when the challenge changes
 @Builder
 @Data
 @NoArgsConstructor
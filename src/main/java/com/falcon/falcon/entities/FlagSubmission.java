@@ -7,18 +7,24 @@ import lombok.NoArgsConstructor;
 
 import java.util.Date;
 
+// solved state of a challenge for a user (new rows are only created by a correct flag),
+// every attempt, right or wrong, is recorded in FlagSubmissionAttempt
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(uniqueConstraints = {
+        // one solved state per user and challenge, concurrent first solves collide on it (see FlagSubmissionRepository.INSERT_SOLVED)
+        @UniqueConstraint(columnNames = {"user_id", "challenge_id"})
+})
 public class FlagSubmission {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String submittedFlag;
-    private Boolean isCorrect;
-    private Date submissionDate;
+    private Boolean isCorrect; // false only on rows written before the attempt log, they are marked correct on the next right flag
+    private Date submissionDate; // when the challenge was solved
 
     @ManyToOne
     @JoinColumn(name = "user_id")
@@ -0,0 +1,38 @@
+package com.falcon.falcon.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * One row per flag submission, right or wrong, never updated.
+ * Rows are written in JDBC batches by FlagSubmissionAttemptService, after the submission committed, so the user and
+ * challenge are plain id columns: no foreign key can make a whole batch fail for one deleted user or challenge.
+ * The solved state itself stays on FlagSubmission.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = {
+        // attempt history of a user on a challenge, in order
+        @Index(name = "idx_attempt_user_challenge", columnList = "user_id, challenge_id, attempted_at")
+})
+public class FlagSubmissionAttempt {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "challenge_id", nullable = false)
+    private Long challengeId;
+
+    private String submittedFlag;
+    private Boolean isCorrect;
+    private Date attemptedAt;
+}
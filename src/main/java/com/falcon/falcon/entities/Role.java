@@ -1,6 +1,8 @@
 package com.falcon.falcon.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +11,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // a few rows never changed at runtime, resolved through User.roles on every login
 @Data @NoArgsConstructor @AllArgsConstructor
 public class Role {
     @Id
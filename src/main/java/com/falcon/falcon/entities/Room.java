@@ -1,6 +1,8 @@
 package com.falcon.falcon.entities;
 import com.falcon.falcon.enums.Complexity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,6 +13,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 
 @Entity
+@Cacheable
+// looked up by id on every room page, join and instance action; the row only changes on creation and through the
+// counters, whose JDBC flushes evict the rooms they touched
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Builder
 @Data
 @NoArgsConstructor
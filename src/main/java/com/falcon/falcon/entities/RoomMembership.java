@@ -13,6 +13,9 @@ import java.util.Date;
 @AllArgsConstructor
 @Table(uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "room_id"})
+}, indexes = {
+        // completed rooms of a user: range on (user_id, challenges_completed > 0), room_id read from the index for the join
+        @Index(name = "idx_membership_user_completed", columnList = "user_id, challenges_completed, room_id")
 })
 public class RoomMembership {
     @Id
@@ -25,6 +28,11 @@ public class RoomMembership {
     private Date completedAt;
     private int challengesCompleted;
 
+    // optimistic locking: concurrent writers of the same membership are detected at flush instead of serialized with row locks
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
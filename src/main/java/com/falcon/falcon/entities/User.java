@@ -1,6 +1,8 @@
 package com.falcon.falcon.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -30,6 +32,7 @@ public class User {
             joinColumns = @JoinColumn(name = "user_id"), // @JoinColumn configures the foreign Keys in the Join Table
             inverseJoinColumns = @JoinColumn(name = "role_id")
     ) // we use @JoinTable/@JoinColumn to manually configure the table and columns names.
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // role ids of the user, resolved from the Role region on login
     private Collection<Role> roles = new ArrayList<>();
 
     // cascade.ALL will help us manage RoomMemberships !!
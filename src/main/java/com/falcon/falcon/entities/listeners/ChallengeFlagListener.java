@@ -0,0 +1,33 @@
+package com.falcon.falcon.entities.listeners;
+
+import com.falcon.falcon.entities.Challenge;
+import com.falcon.falcon.services.support.FlagVerifier;
+import com.falcon.falcon.services.support.TransactionCallbacks;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Keeps FlagVerifier in line with the challenges: a changed (flag, room) or removed challenge is evicted.
+ * Instantiated by Hibernate through Spring's bean container while the EntityManagerFactory is being built,
+ * so FlagVerifier (which needs a repository, hence that factory) is looked up on first use instead of injected.
+ *
+ * The entry is dropped at flush and again after the commit, so a verification that reloaded
+ * the old row in between does not stay cached.
+ */
+public class ChallengeFlagListener {
+    private final ObjectProvider<FlagVerifier> flagVerifierProvider;
+
+    public ChallengeFlagListener(ObjectProvider<FlagVerifier> flagVerifierProvider) {
+        this.flagVerifierProvider = flagVerifierProvider;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void challengeChanged(Challenge challenge) {
+        Long challengeId = challenge.getId();
+        FlagVerifier flagVerifier = flagVerifierProvider.getObject();
+        flagVerifier.invalidate(challengeId);
+        TransactionCallbacks.afterCommit(() -> flagVerifier.invalidate(challengeId));
+    }
+}
@@ -0,0 +1,8 @@
+package com.falcon.falcon.enums;
+
+// membership change applied to every (user, room) pair of a bulk enrollment request
+public enum BulkEnrollmentAction {
+    JOIN,
+    SAVE,
+    LEAVE
+}
@@ -0,0 +1,6 @@
+package com.falcon.falcon.enums;
+
+// DATABASE pushes filtering, sorting and pagination down to MySQL, MEMORY runs the in-memory operation strategies
+public enum CatalogQueryEngine {
+    DATABASE, MEMORY
+}
@@ -0,0 +1,7 @@
+package com.falcon.falcon.enums;
+
+// where the submission token buckets live
+public enum RateLimiterMode {
+    MEMORY, // in the JVM, limits apply per application node
+    REDIS   // in Redis, limits are shared by every node of a cluster
+}
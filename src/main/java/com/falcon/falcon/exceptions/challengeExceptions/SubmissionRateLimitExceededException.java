@@ -0,0 +1,14 @@
+package com.falcon.falcon.exceptions.challengeExceptions;
+
+public class SubmissionRateLimitExceededException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public SubmissionRateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
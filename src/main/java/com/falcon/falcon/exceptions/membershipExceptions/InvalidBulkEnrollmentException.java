@@ -0,0 +1,7 @@
+package com.falcon.falcon.exceptions.membershipExceptions;
+
+public class InvalidBulkEnrollmentException extends RuntimeException {
+    public InvalidBulkEnrollmentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.falcon.falcon.exceptions.roomExceptions;
+
+public class InvalidCatalogCursorException extends RuntimeException {
+    public InvalidCatalogCursorException(String message) {
+        super(message);
+    }
+}
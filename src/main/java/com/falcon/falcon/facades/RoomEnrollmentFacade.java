@@ -1,9 +1,17 @@
 package com.falcon.falcon.facades;
 
 import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.dtos.RoomFilterCriteria;
+import com.falcon.falcon.dtos.catalog.CursorPage;
+import com.falcon.falcon.dtos.catalog.RoomCatalogFacets;
+import com.falcon.falcon.dtos.enrollment.BulkEnrollmentRequest;
+import com.falcon.falcon.dtos.enrollment.BulkEnrollmentResult;
+
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Facade for operations related to user enrollment in rooms.
@@ -18,6 +26,38 @@ public interface RoomEnrollmentFacade {
      */
     List<RoomDTO> getRoomCatalogForUser(Long userId);
 
+    /**
+     * Gets one page of the personalized catalog, filtered and sorted according to the criteria.
+     * Depending on the configured engine (rooms.catalog.engine) the work is pushed down to the database
+     * or done in memory by the room operation strategies.
+     *
+     * @param userId The user's ID
+     * @param criteria Filters, sort key, page size and cursor
+     * @return The rooms of the page and the cursor of the next page (null if this is the last one)
+     */
+    CursorPage<RoomDTO> getRoomCatalogForUser(Long userId, RoomFilterCriteria criteria);
+
+    /**
+     * Streams the whole filtered and sorted catalog (no page) to the consumer, one room at a time.
+     * With the catalog snapshot and a single sort key the rooms are personalized and filtered while walking
+     * the snapshot, so no list of the catalog is built; otherwise the regular catalog list is walked.
+     *
+     * @param userId The user's ID
+     * @param criteria Filters and sort key (limit and cursor are ignored)
+     * @param consumer Receives the rooms in order
+     */
+    void forEachRoomOfCatalog(Long userId, RoomFilterCriteria criteria, Consumer<RoomDTO> consumer);
+
+    /**
+     * Counts the rooms of the personalized catalog per complexity, enrollment status and completion status,
+     * so clients can display filter counts without downloading the catalog.
+     *
+     * @param userId The user's ID
+     * @param searchTerm Optional search term, only the matching rooms are counted
+     * @return The count of every facet value
+     */
+    RoomCatalogFacets getRoomCatalogFacets(Long userId, String searchTerm);
+
     /**
      * Retrieves a list of rooms that a user has joined.
      *
@@ -35,12 +75,14 @@ public interface RoomEnrollmentFacade {
     List<RoomDTO> getSavedRooms(Long userId);
 
     /**
-     * Retrieves a list of rooms that a user has completed.
+     * Retrieves one page of the rooms that a user has completed, ordered by room id.
      *
      * @param userId The user's ID
-     * @return List of rooms the user has completed
+     * @param page The zero-based page number
+     * @param size The page size (capped at 100)
+     * @return The rooms of the page and whether a next page exists
      */
-    List<RoomDTO> getCompletedRooms(Long userId);
+    Slice<RoomDTO> getCompletedRooms(Long userId, int page, int size);
 
     /**
      * Retrieves detailed information about a specific joined room.
@@ -75,6 +117,14 @@ public interface RoomEnrollmentFacade {
      */
     void leaveRoom(Long userId, Long roomId);
 
+    /**
+     * Applies one action (join, save or leave) to many (user, room) pairs in a single transaction.
+     *
+     * @param request The action and the (userId, roomId) pairs
+     * @return how many pairs were requested and changed, and the joined users delta applied to each room
+     */
+    BulkEnrollmentResult bulkEnroll(BulkEnrollmentRequest request);
+
     /**
      * Unsaves a room for a user.
      *
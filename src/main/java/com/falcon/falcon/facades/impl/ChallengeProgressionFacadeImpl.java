@@ -2,28 +2,35 @@ package com.falcon.falcon.facades.impl;
 
 import com.falcon.falcon.facades.ChallengeProgressionFacade;
 import com.falcon.falcon.services.FlagSubmissionService;
+import com.falcon.falcon.services.SubmissionRateLimiter;
+import com.falcon.falcon.services.support.RetryingTransactionTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ChallengeProgressionFacadeImpl implements ChallengeProgressionFacade {
 
     private final FlagSubmissionService flagSubmissionService;
+    private final RetryingTransactionTemplate retryingTransactionTemplate;
+    private final SubmissionRateLimiter submissionRateLimiter;
 
-    public ChallengeProgressionFacadeImpl(FlagSubmissionService flagSubmissionService) {
+    public ChallengeProgressionFacadeImpl(FlagSubmissionService flagSubmissionService,
+                                          RetryingTransactionTemplate retryingTransactionTemplate,
+                                          SubmissionRateLimiter submissionRateLimiter) {
         this.flagSubmissionService = flagSubmissionService;
+        this.retryingTransactionTemplate = retryingTransactionTemplate;
+        this.submissionRateLimiter = submissionRateLimiter;
     }
 
+    // submissions and resets update the versioned RoomMembership, a conflicting writer makes the attempt replay
     @Override
-    @Transactional
     public boolean submitFlag(Long userId, Long challengeId, String flag) {
-        return flagSubmissionService.processSubmission(userId, challengeId, flag);
+        submissionRateLimiter.checkSubmission(userId, challengeId); // before the transaction: a rejected attempt costs no database round trip
+        return retryingTransactionTemplate.execute(() -> flagSubmissionService.processSubmission(userId, challengeId, flag));
     }
 
     @Override
-    @Transactional
     public void resetChallengeProgress(Long userId, Long roomId) {
-        flagSubmissionService.deleteSubmissionsForUserAndRoom(userId, roomId);
+        retryingTransactionTemplate.executeWithoutResult(() -> flagSubmissionService.deleteSubmissionsForUserAndRoom(userId, roomId));
     }
 
 }
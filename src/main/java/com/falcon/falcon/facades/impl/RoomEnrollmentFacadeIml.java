@@ -1,72 +1,126 @@
 package com.falcon.falcon.facades.impl;
 
 import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.dtos.RoomFilterCriteria;
+import com.falcon.falcon.dtos.catalog.CursorPage;
+import com.falcon.falcon.dtos.catalog.RoomCatalogFacets;
+import com.falcon.falcon.dtos.enrollment.BulkEnrollmentRequest;
+import com.falcon.falcon.dtos.enrollment.BulkEnrollmentResult;
+import com.falcon.falcon.enums.CatalogQueryEngine;
 import com.falcon.falcon.facades.ChallengeProgressionFacade;
 import com.falcon.falcon.facades.RoomEnrollmentFacade;
-import com.falcon.falcon.services.RoomService;
+import com.falcon.falcon.operations.filters.FilterStrategy;
+import com.falcon.falcon.services.RoomCatalogService;
+import com.falcon.falcon.services.RoomOperationService;
 import com.falcon.falcon.services.UserRoomService;
+import com.falcon.falcon.services.support.RetryingTransactionTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 public class RoomEnrollmentFacadeIml implements RoomEnrollmentFacade {
     private final UserRoomService userRoomService;
-    private final RoomService roomService;
     private final ChallengeProgressionFacade challengeProgressionFacade;
-
-    public RoomEnrollmentFacadeIml(RoomService roomService,
-                                   UserRoomService userRoomService,
-                                   ChallengeProgressionFacade challengeProgressionFacade) {
+    private final RoomOperationService roomOperationService;
+    private final RoomCatalogService roomCatalogService;
+    private final CatalogQueryEngine catalogQueryEngine;
+    private final boolean catalogSnapshotEnabled;
+    private final RetryingTransactionTemplate retryingTransactionTemplate; // membership writes: one transaction per attempt, replayed on version conflicts
+
+    public RoomEnrollmentFacadeIml(UserRoomService userRoomService,
+                                   ChallengeProgressionFacade challengeProgressionFacade,
+                                   RoomOperationService roomOperationService,
+                                   RoomCatalogService roomCatalogService,
+                                   @Value("${rooms.catalog.engine:DATABASE}") CatalogQueryEngine catalogQueryEngine,
+                                   @Value("${rooms.catalog.snapshot.enabled:true}") boolean catalogSnapshotEnabled,
+                                   RetryingTransactionTemplate retryingTransactionTemplate) {
         this.userRoomService = userRoomService;
-        this.roomService = roomService;
         this.challengeProgressionFacade = challengeProgressionFacade;
+        this.roomOperationService = roomOperationService;
+        this.roomCatalogService = roomCatalogService;
+        this.catalogQueryEngine = catalogQueryEngine;
+        this.catalogSnapshotEnabled = catalogSnapshotEnabled;
+        this.retryingTransactionTemplate = retryingTransactionTemplate;
     }
 
     /**
      * Gets a personalized catalog of all rooms with user-specific information.
-     * This migrates the functionality from DomainFacadeImpl.
+     * By default the shared catalog snapshot is used and only the user's memberships are read,
+     * the rooms the user has a membership for are copied with the user's data (the snapshot is never mutated).
+     * With the snapshot disabled, rooms and memberships are read together in a single LEFT JOIN projection query.
      */
     @Override
     @Transactional(readOnly = true)
     public List<RoomDTO> getRoomCatalogForUser(Long userId) {
-        // step 1 : Get all base room information using roomManager/roomService this service provides us with information regarding rooms NOT USERS
-        List<RoomDTO> allRooms = roomService.getAllRooms();
-
-        // step 2 : Get rooms user has joined or saved  using userManager/userService this service provides us with information regarding users NOT ROOMS (like for example rooms a user has joined !!!)
-        List<RoomDTO> joinedRooms = userRoomService.getJoinedRooms(userId); // this method, retrieves a user and its memberships, for each membership it gets the room associated with that membership. it returns a list of roomDTOs
-        List<RoomDTO> savedRooms = userRoomService.getSavedRooms(userId);
-
-        // Step 3: Enrich each room with user-specific data
-        return allRooms.stream() //
-                .map(room -> enrichRoomWithUserData(room, joinedRooms, savedRooms))
-                .collect(Collectors.toList());
+        if (catalogSnapshotEnabled) {
+            return roomCatalogService.getRoomCatalogForUser(userId);
+        }
+        return userRoomService.getRoomCatalog(userId);
     }
 
     /**
-     * Helper method to enrich room data with user-specific information
+     * DATABASE engine: one query with WHERE, ORDER BY and a keyset predicate, only one page leaves MySQL.
+     * MEMORY engine (fallback): the whole catalog is materialized then filtered and sorted by the operation strategies,
+     * pagination is not supported in this mode so the whole result is returned as a single page.
+     * With the snapshot, a single sort key is served from the snapshot's pre-ordered rooms by a filtered walk (no sort),
+     * and criteria that do not depend on the user are answered from the results memoized per snapshot version
+     * then personalized with the user's memberships.
      */
-    private RoomDTO enrichRoomWithUserData(RoomDTO room, List<RoomDTO> joinedRooms, List<RoomDTO> savedRooms) {
-        // Check if the room is joined by the user
-        joinedRooms.stream()
-                .filter(joinedRoom -> joinedRoom.getId().equals(room.getId()))
-                .findFirst() // terminal operation
-                .ifPresent(joinedRoom -> { // if the
-                    room.setIsJoined(joinedRoom.getIsJoined());
-                    room.setIsSaved(joinedRoom.getIsSaved()); // this will set is saved to false if the user didnt save the room
-                    room.setPercentageCompleted(joinedRoom.getPercentageCompleted());
-                });
-
-        // Check if the user has saved the room
-        savedRooms.stream()
-                .filter(r -> r.getId().equals(room.getId()))
-                .findFirst()
-                .ifPresent(savedRoom -> room.setIsSaved(true));
-
-        return room;
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<RoomDTO> getRoomCatalogForUser(Long userId, RoomFilterCriteria criteria) {
+        if (catalogQueryEngine == CatalogQueryEngine.MEMORY) {
+            if (catalogSnapshotEnabled && roomOperationService.isUserIndependent(criteria)) {
+                List<RoomDTO> baseRooms = roomOperationService.applyToSnapshot(roomCatalogService.getSnapshot(), criteria);
+                return new CursorPage<>(roomCatalogService.personalize(userId, baseRooms), null);
+            }
+            if (catalogSnapshotEnabled && roomOperationService.isPreOrderedSort(criteria)) {
+                List<RoomDTO> orderedRooms = roomCatalogService.getRoomCatalogForUser(userId, criteria.getSortBy());
+                return new CursorPage<>(roomOperationService.applyFiltersInOrder(orderedRooms, criteria), null);
+            }
+            List<RoomDTO> rooms = getRoomCatalogForUser(userId);
+            return new CursorPage<>(roomOperationService.applyFiltersAndSorting(rooms, criteria), null);
+        }
+        return userRoomService.getRoomCatalogPage(userId, criteria);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachRoomOfCatalog(Long userId, RoomFilterCriteria criteria, Consumer<RoomDTO> consumer) {
+        if (catalogQueryEngine == CatalogQueryEngine.MEMORY && catalogSnapshotEnabled && roomOperationService.isPreOrderedSort(criteria)) {
+            FilterStrategy filter = roomOperationService.buildFilter(criteria);
+            roomCatalogService.forEachRoomForUser(userId, criteria.getSortBy(), room -> {
+                if (filter.test(room)) {
+                    consumer.accept(room);
+                }
+            });
+            return;
+        }
+        RoomFilterCriteria unpaged = new RoomFilterCriteria();
+        unpaged.setComplexity(criteria.getComplexity());
+        unpaged.setEnrollmentStatus(criteria.getEnrollmentStatus());
+        unpaged.setCompletionStatus(criteria.getCompletionStatus());
+        unpaged.setSearchTerm(criteria.getSearchTerm());
+        unpaged.setSortBy(criteria.getSortBy());
+        unpaged.setThenBy(criteria.getThenBy());
+        if (catalogQueryEngine == CatalogQueryEngine.DATABASE) {
+            userRoomService.forEachRoomOfCatalog(userId, unpaged, consumer); // rows streamed from the catalog query
+            return;
+        }
+        getRoomCatalogForUser(userId, unpaged).getContent().forEach(consumer);
+    }
+
+    // computed in one pass over the personalized catalog (shared snapshot + the user's memberships)
+    @Override
+    @Transactional(readOnly = true)
+    public RoomCatalogFacets getRoomCatalogFacets(Long userId, String searchTerm) {
+        return roomOperationService.countFacets(getRoomCatalogForUser(userId), searchTerm);
     }
 
     // read only transactions
@@ -84,8 +138,8 @@ public class RoomEnrollmentFacadeIml implements RoomEnrollmentFacade {
 
     @Override
     @Transactional(readOnly = true)
-    public List<RoomDTO> getCompletedRooms(Long userId) {
-        return userRoomService.getCompletedRooms(userId);
+    public Slice<RoomDTO> getCompletedRooms(Long userId, int page, int size) {
+        return userRoomService.getCompletedRooms(userId, page, size);
     }
 
     @Override
@@ -95,27 +149,28 @@ public class RoomEnrollmentFacadeIml implements RoomEnrollmentFacade {
     }
 
     @Override
-    @Transactional
     public void joinRoom(Long userId, Long roomId) {
-        userRoomService.joinRoom(userId, roomId);
+        retryingTransactionTemplate.executeWithoutResult(() -> userRoomService.joinRoom(userId, roomId));
     }
 
     @Override
-    @Transactional
     public void saveRoom(Long userId, Long roomId) {
-        userRoomService.saveRoom(userId, roomId);
+        retryingTransactionTemplate.executeWithoutResult(() -> userRoomService.saveRoom(userId, roomId));
     }
 
     @Override
-    @Transactional
     public void leaveRoom(Long userId, Long roomId) {
-        userRoomService.leaveRoom(userId, roomId);
+        retryingTransactionTemplate.executeWithoutResult(() -> userRoomService.leaveRoom(userId, roomId));
+    }
+
+    @Override
+    public BulkEnrollmentResult bulkEnroll(BulkEnrollmentRequest request) {
+        return retryingTransactionTemplate.execute(() -> userRoomService.bulkEnroll(request));
     }
 
     @Override
-    @Transactional
     public void unsaveRoom(Long userId, Long roomId) {
-        userRoomService.unSaveRoom(userId, roomId);
+        retryingTransactionTemplate.executeWithoutResult(() -> userRoomService.unSaveRoom(userId, roomId));
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.falcon.falcon.mappers;
 
 import com.falcon.falcon.dtos.ChallengeDTO;
+import com.falcon.falcon.dtos.catalog.JoinedRoomChallengeRow;
 import com.falcon.falcon.entities.Challenge;
 import org.springframework.stereotype.Component;
 
@@ -18,6 +19,18 @@ public class ChallengeMapper {
                 .build();
     }
 
+    // maps the challenge columns of a joined room detail row, with the user's completion
+    public ChallengeDTO toChallengeDTO(JoinedRoomChallengeRow row) {
+        return ChallengeDTO.builder()
+                .id(row.getChallengeId())
+                .name(row.getChallengeName())
+                .title(row.getChallengeTitle())
+                .description(row.getChallengeDescription())
+                .instructions(row.getChallengeInstructions())
+                .isCompleted(Boolean.TRUE.equals(row.getChallengeCompleted()))
+                .build();
+    }
+
     public Challenge toChallenge(ChallengeDTO challengeDTO) {
         return Challenge.builder()
                 .name(challengeDTO.getName())
@@ -1,6 +1,10 @@
 package com.falcon.falcon.mappers;
 
 import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.dtos.catalog.JoinedRoomChallengeRow;
+import com.falcon.falcon.dtos.catalog.MembershipOverlay;
+import com.falcon.falcon.dtos.catalog.RoomCatalogCard;
+import com.falcon.falcon.dtos.catalog.RoomCatalogRow;
 import com.falcon.falcon.entities.Room;
 import com.falcon.falcon.entities.RoomMembership;
 import org.springframework.stereotype.Component;
@@ -22,6 +26,99 @@ public class RoomMapper {
         return dto;
     }
 
+    // maps a catalog projection row (room + the user's membership) to a user specific DTO
+    public RoomDTO toUserSpecificDTO(RoomCatalogRow row) {
+        int totalChallenges = row.getTotalChallenges() != null ? row.getTotalChallenges() : 0;
+        int challengesCompleted = row.getChallengesCompleted() != null ? row.getChallengesCompleted() : 0;
+        return RoomDTO.builder()
+                .id(row.getId())
+                .amiId(row.getAmiId())
+                .title(row.getTitle())
+                .excerpt(excerpt(row.getDescriptionHead()))
+                .complexity(row.getComplexity())
+                .estimatedTime(row.getEstimatedTime() != null ? row.getEstimatedTime() : 0)
+                .imageURL(row.getImageURL())
+                .totalChallenges(totalChallenges)
+                .totalJoinedUsers(row.getTotalJoinedUsers() != null ? row.getTotalJoinedUsers() : 0)
+                .totalRunningInstances(row.getTotalRunningInstances() != null ? row.getTotalRunningInstances() : 0)
+                .createdAt(row.getCreatedAt())
+                // membership columns are null when the user has no membership for this room
+                .isJoined(Boolean.TRUE.equals(row.getIsJoined()))
+                .isSaved(Boolean.TRUE.equals(row.getIsSaved()))
+                .percentageCompleted(percentageCompleted(challengesCompleted, totalChallenges))
+                .build();
+    }
+
+    // maps the room and membership columns of the joined room detail query (challenges are added by the caller)
+    public RoomDTO toUserSpecificDTO(JoinedRoomChallengeRow row) {
+        int totalChallenges = row.getTotalChallenges() != null ? row.getTotalChallenges() : 0;
+        int challengesCompleted = row.getChallengesCompleted() != null ? row.getChallengesCompleted() : 0;
+        return RoomDTO.builder()
+                .id(row.getRoomId())
+                .amiId(row.getAmiId())
+                .title(row.getRoomTitle())
+                .description(row.getRoomDescription())
+                .excerpt(excerpt(row.getRoomDescription()))
+                .complexity(row.getComplexity())
+                .estimatedTime(row.getEstimatedTime() != null ? row.getEstimatedTime() : 0)
+                .imageURL(row.getImageURL())
+                .totalChallenges(totalChallenges)
+                .totalJoinedUsers(row.getTotalJoinedUsers() != null ? row.getTotalJoinedUsers() : 0)
+                .totalRunningInstances(row.getTotalRunningInstances() != null ? row.getTotalRunningInstances() : 0)
+                .createdAt(row.getCreatedAt())
+                .isJoined(row.getIsJoined())
+                .isSaved(row.getIsSaved())
+                .percentageCompleted(percentageCompleted(challengesCompleted, totalChallenges))
+                .build();
+    }
+
+    // maps a card projection to a user agnostic DTO, without the full description
+    public RoomDTO toCatalogDTO(RoomCatalogCard card) {
+        return RoomDTO.builder()
+                .id(card.getId())
+                .amiId(card.getAmiId())
+                .title(card.getTitle())
+                .excerpt(excerpt(card.getDescriptionHead()))
+                .complexity(card.getComplexity())
+                .estimatedTime(card.getEstimatedTime() != null ? card.getEstimatedTime() : 0)
+                .imageURL(card.getImageURL())
+                .totalChallenges(card.getTotalChallenges() != null ? card.getTotalChallenges() : 0)
+                .totalJoinedUsers(card.getTotalJoinedUsers() != null ? card.getTotalJoinedUsers() : 0)
+                .totalRunningInstances(card.getTotalRunningInstances() != null ? card.getTotalRunningInstances() : 0)
+                .createdAt(card.getCreatedAt())
+                .isJoined(false)
+                .isSaved(false)
+                .percentageCompleted(0)
+                .build();
+    }
+
+    // cuts a description (or its head read from SQL) to the excerpt length, a longer text gets an ellipsis
+    public String excerpt(String description) {
+        if (description == null || description.length() <= RoomCatalogCard.EXCERPT_LENGTH) {
+            return description;
+        }
+        int end = RoomCatalogCard.EXCERPT_LENGTH;
+        if (Character.isHighSurrogate(description.charAt(end - 1))) {
+            end--; // do not split a surrogate pair
+        }
+        return description.substring(0, end).stripTrailing() + "…";
+    }
+
+    // copies a shared base DTO and applies the user's membership data on the copy, the base is left untouched
+    public RoomDTO withMembership(RoomDTO base, MembershipOverlay overlay) {
+        int challengesCompleted = overlay.getChallengesCompleted() != null ? overlay.getChallengesCompleted() : 0;
+        return base.toBuilder()
+                .isJoined(Boolean.TRUE.equals(overlay.getIsJoined()))
+                .isSaved(Boolean.TRUE.equals(overlay.getIsSaved()))
+                .percentageCompleted(percentageCompleted(challengesCompleted, base.getTotalChallenges()))
+                .build();
+    }
+
+    // divide-by-zero safe completion percentage
+    public int percentageCompleted(int challengesCompleted, int totalChallenges) {
+        return totalChallenges > 0 ? (challengesCompleted * 100) / totalChallenges : 0;
+    }
+
     public RoomDTO toDTO(Room room) {
         return RoomDTO.builder()
                 // over all information
@@ -29,6 +126,7 @@ public class RoomMapper {
                 .amiId(room.getAmiId())
                 .title(room.getTitle())
                 .description(room.getDescription())
+                .excerpt(excerpt(room.getDescription()))
                 .complexity(room.getComplexity())
                 .estimatedTime(room.getEstimatedTime())
                 .imageURL(room.getImageURL())
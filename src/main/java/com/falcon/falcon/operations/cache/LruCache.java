@@ -0,0 +1,39 @@
+package com.falcon.falcon.operations.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Small thread-safe LRU map: once the capacity is reached, adding an entry evicts the least recently used one.
+ * Meant for a few hundred entries, every access takes the cache's lock.
+ */
+public class LruCache<K, V> {
+    private final Map<K, V> entries;
+
+    public LruCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) { // access order
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    // the value is computed under the lock, keep the mapping function cheap
+    public synchronized V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        return entries.computeIfAbsent(key, mappingFunction);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -5,10 +5,12 @@ import com.falcon.falcon.operations.filters.FilterStrategy;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.function.Predicate;
 
 /**
- * Composite that applies multiple filters sequentially (AND logic).
- * Each filter is applied to the result of the previous filter.
+ * Composite that combines multiple filters (AND logic).
+ * The filters are fused into one predicate evaluated in a single pass over the rooms,
+ * instead of one pass and one intermediate list per filter.
  */
 public class AndFilter implements FilterStrategy {
     private final List<FilterStrategy> filters;
@@ -25,13 +27,27 @@ public class AndFilter implements FilterStrategy {
         this.filters.add(filter);
         return this;
     }
+
+    // a room passes when every filter accepts it, evaluation stops at the first rejecting filter
+    @Override
+    public boolean test(RoomDTO room) {
+        for (int i = 0; i < filters.size(); i++) {
+            if (!filters.get(i).test(room)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Predicate<RoomDTO> toPredicate() {
+        return this::test;
+    }
     
     @Override
     public List<RoomDTO> apply(List<RoomDTO> rooms) {
-        List<RoomDTO> result = rooms;
-        for (FilterStrategy filter : filters) {
-            result = filter.apply(result);
+        if (filters.isEmpty()) {
+            return rooms; // nothing to filter, no copy
         }
-        return result;
+        return FilterStrategy.super.apply(rooms);
     }
-}
\ No newline at end of file
+}
@@ -14,18 +14,35 @@ import java.util.List;
 public class FilterThenSortComposite implements RoomOperation {
     private final FilterStrategy filterStrategy; // AndFilter (Composite)
     private final SortStrategy sortStrategy; // SorterChain (Composite)
+    private final Integer limit; // when set only the first `limit` rooms are selected (top-K)
     
     public FilterThenSortComposite(FilterStrategy filterStrategy, SortStrategy sortStrategy) {
+        this(filterStrategy, sortStrategy, null);
+    }
+
+    public FilterThenSortComposite(FilterStrategy filterStrategy, SortStrategy sortStrategy, Integer limit) {
         this.filterStrategy = filterStrategy;
         this.sortStrategy = sortStrategy;
+        this.limit = limit;
     }
     
+    public FilterStrategy getFilterStrategy() {
+        return filterStrategy;
+    }
+
     @Override
     public List<RoomDTO> apply(List<RoomDTO> rooms) {
         // First apply all filters
         List<RoomDTO> filteredRooms = filterStrategy != null ? filterStrategy.apply(rooms) : rooms;
         
-        // Then apply sorting
-        return sortStrategy != null ? sortStrategy.apply(filteredRooms) : filteredRooms;
+        // Then apply sorting, a partial top-K selection when a limit is set
+        if (limit == null) {
+            return sortStrategy != null ? sortStrategy.apply(filteredRooms) : filteredRooms;
+        }
+        int k = Math.max(0, limit);
+        if (sortStrategy != null) {
+            return sortStrategy.apply(filteredRooms, k);
+        }
+        return filteredRooms.size() > k ? filteredRooms.subList(0, k) : filteredRooms;
     }
 }
\ No newline at end of file
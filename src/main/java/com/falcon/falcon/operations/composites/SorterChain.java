@@ -3,14 +3,19 @@ package com.falcon.falcon.operations.composites;
 import com.falcon.falcon.dtos.RoomDTO;
 import com.falcon.falcon.operations.sorters.SortStrategy;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.ArrayList;
 
 /**
- * Composite that applies multiple sorters in sequence.
- * Each sorter is applied to the result of the previous sorter.
+ * Composite that sorts by multiple keys at once.
+ * The first sorter added is the primary key, each following sorter breaks the ties of the previous ones,
+ * and the room id is the final tie-breaker so the order is total and stable across pages.
+ * The comparators are composed into one thenComparing chain and the rooms are sorted once.
  */
 public class SorterChain implements SortStrategy {
+    private static final Comparator<RoomDTO> BY_ID = Comparator.comparing(RoomDTO::getId);
+
     private final List<SortStrategy> sorters;
     
     public SorterChain() {
@@ -25,13 +30,29 @@ public class SorterChain implements SortStrategy {
         this.sorters.add(sorter);
         return this;
     }
+
+    @Override
+    public Comparator<RoomDTO> comparator() {
+        Comparator<RoomDTO> composed = null;
+        for (SortStrategy sorter : sorters) {
+            composed = composed == null ? sorter.comparator() : composed.thenComparing(sorter.comparator());
+        }
+        return composed == null ? BY_ID : composed.thenComparing(BY_ID);
+    }
     
     @Override
     public List<RoomDTO> apply(List<RoomDTO> rooms) {
-        List<RoomDTO> result = rooms;
-        for (SortStrategy sorter : sorters) {
-            result = sorter.apply(result);
+        if (sorters.isEmpty()) {
+            return rooms; // no sort key requested, keep the catalog order
+        }
+        return SortStrategy.super.apply(rooms);
+    }
+
+    @Override
+    public List<RoomDTO> apply(List<RoomDTO> rooms, int limit) {
+        if (sorters.isEmpty()) {
+            return rooms.size() > limit ? rooms.subList(0, limit) : rooms;
         }
-        return result;
+        return SortStrategy.super.apply(rooms, limit);
     }
-}
\ No newline at end of file
+}
@@ -4,7 +4,6 @@ import com.falcon.falcon.dtos.RoomDTO;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class CompletionFilter implements FilterStrategy {
@@ -21,29 +20,31 @@ public class CompletionFilter implements FilterStrategy {
     public CompletionFilter(CompletionStatus status) {
         this.status = status;
     }
+
+    @Override
+    public boolean test(RoomDTO room) {
+        return status == CompletionStatus.ALL || statusOf(room) == status;
+    }
+
+    // the (never ALL) status of a room for the current user, shared by the filter and the catalog facets,
+    // null for a percentage outside [0, 100]: such a room matches no completion filter
+    public static CompletionStatus statusOf(RoomDTO room) {
+        int percentage = room.getPercentageCompleted();
+        if (percentage == 100) {
+            return CompletionStatus.COMPLETED;
+        }
+        if (percentage > 0 && percentage < 100) {
+            return CompletionStatus.IN_PROGRESS;
+        }
+        return percentage == 0 ? CompletionStatus.NOT_STARTED : null;
+    }
     
     @Override
     public List<RoomDTO> apply(List<RoomDTO> rooms) {
-        switch (status) {
-            case COMPLETED:
-                return rooms.stream()
-                        .filter(room -> room.getPercentageCompleted() == 100)
-                        .collect(Collectors.toList());
-            case IN_PROGRESS:
-                return rooms.stream()
-                        .filter(room -> room.getPercentageCompleted() > 0 && room.getPercentageCompleted() < 100)
-                        .collect(Collectors.toList());
-            case NOT_STARTED:
-                return rooms.stream()
-                        .filter(room -> room.getPercentageCompleted() == 0)
-                        .collect(Collectors.toList());
-            case ALL:
-            default:
-                return rooms;
-        }
+        return status == CompletionStatus.ALL ? rooms : FilterStrategy.super.apply(rooms);
     }
     
     public CompletionFilter withStatus(CompletionStatus status) {
         return new CompletionFilter(status);
     }
-}
\ No newline at end of file
+}
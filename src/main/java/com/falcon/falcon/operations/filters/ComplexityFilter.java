@@ -5,7 +5,6 @@ import com.falcon.falcon.enums.Complexity;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class ComplexityFilter implements FilterStrategy {
@@ -16,19 +15,21 @@ public class ComplexityFilter implements FilterStrategy {
     public ComplexityFilter(Complexity complexity) {
         this.targetComplexity = complexity;
     }
+
+    @Override
+    public boolean test(RoomDTO room) {
+        return targetComplexity == null || room.getComplexity() == targetComplexity;
+    }
     
     @Override
     public List<RoomDTO> apply(List<RoomDTO> rooms) {
         if (targetComplexity == null) {
             return rooms; // Return all if no complexity specified
         }
-        
-        return rooms.stream()
-                .filter(room -> room.getComplexity() == targetComplexity)
-                .collect(Collectors.toList());
+        return FilterStrategy.super.apply(rooms);
     }
     
     public ComplexityFilter withComplexity(Complexity complexity) {
         return new ComplexityFilter(complexity);
     }
-}
\ No newline at end of file
+}
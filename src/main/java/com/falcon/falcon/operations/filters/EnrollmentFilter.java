@@ -4,7 +4,6 @@ import com.falcon.falcon.dtos.RoomDTO;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class EnrollmentFilter implements FilterStrategy {
@@ -21,25 +20,23 @@ public class EnrollmentFilter implements FilterStrategy {
     public EnrollmentFilter(EnrollmentStatus status) {
         this.status = status;
     }
+
+    @Override
+    public boolean test(RoomDTO room) {
+        return status == EnrollmentStatus.ALL || statusOf(room) == status;
+    }
+
+    // the (never ALL) status of a room for the current user, shared by the filter and the catalog facets
+    public static EnrollmentStatus statusOf(RoomDTO room) {
+        return room.getIsJoined() != null && room.getIsJoined() ? EnrollmentStatus.ENROLLED : EnrollmentStatus.NOT_ENROLLED;
+    }
     
     @Override
     public List<RoomDTO> apply(List<RoomDTO> rooms) {
-        switch (status) {
-            case ENROLLED:
-                return rooms.stream()
-                        .filter(room -> room.getIsJoined() != null && room.getIsJoined())
-                        .collect(Collectors.toList());
-            case NOT_ENROLLED:
-                return rooms.stream()
-                        .filter(room -> room.getIsJoined() == null || !room.getIsJoined())
-                        .collect(Collectors.toList());
-            case ALL:
-            default:
-                return rooms;
-        }
+        return status == EnrollmentStatus.ALL ? rooms : FilterStrategy.super.apply(rooms);
     }
     
     public EnrollmentFilter withStatus(EnrollmentStatus status) {
         return new EnrollmentFilter(status);
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,28 @@
 package com.falcon.falcon.operations.filters;
 
+import com.falcon.falcon.dtos.RoomDTO;
 import com.falcon.falcon.operations.RoomOperation;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Strategy interface for room filtering operations.
  * Extends RoomOperation to participate in the Composite pattern.
+ * Each filter decides per room (test), so several filters can be fused into one pass over the list.
  */
 public interface FilterStrategy extends RoomOperation {
-    // Inherits apply(List<RoomDTO> rooms) from RoomOperation
-}
\ No newline at end of file
+    boolean test(RoomDTO room);
+
+    // single pass over the rooms, one result list and no intermediate stream
+    @Override
+    default List<RoomDTO> apply(List<RoomDTO> rooms) {
+        List<RoomDTO> result = new ArrayList<>();
+        for (RoomDTO room : rooms) {
+            if (test(room)) {
+                result.add(room);
+            }
+        }
+        return result;
+    }
+}
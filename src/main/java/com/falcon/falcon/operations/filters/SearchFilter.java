@@ -1,38 +1,71 @@
 package com.falcon.falcon.operations.filters;
 
 import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.operations.search.RoomTrigramIndex;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Component
 public class SearchFilter implements FilterStrategy {
     private String searchTerm;
+    private RoomTrigramIndex searchIndex;
+    private volatile Matches matches; // resolved from the index on the first test, again when the index changed
     
-    public SearchFilter() {
+    @Autowired
+    public SearchFilter(RoomTrigramIndex searchIndex) {
         this.searchTerm = "";
+        this.searchIndex = searchIndex;
     }
     
-    public SearchFilter(String searchTerm) {
+    public SearchFilter(String searchTerm, RoomTrigramIndex searchIndex) {
         this.searchTerm = searchTerm != null ? searchTerm.toLowerCase().trim() : "";
+        this.searchIndex = searchIndex;
     }
-    
+
     @Override
-    public List<RoomDTO> apply(List<RoomDTO> rooms) {
+    public boolean test(RoomDTO room) {
         if (searchTerm.isEmpty()) {
-            return rooms;
+            return true;
         }
-        
-        return rooms.stream()
-                .filter(room -> 
-                    (room.getTitle() != null && room.getTitle().toLowerCase().contains(searchTerm)) ||
-                    (room.getDescription() != null && room.getDescription().toLowerCase().contains(searchTerm))
-                )
-                .collect(Collectors.toList());
+
+        // the index answers the query by intersecting trigram posting lists instead of scanning every text,
+        // and with a LIKE query on the full texts while it is disabled or not built yet
+        if (searchIndex != null) {
+            // the filter may be cached and reused across requests (compiled operations), so results are tied to an index version
+            long indexVersion = searchIndex.getVersion();
+            Matches current = matches;
+            if (current == null || current.indexVersion != indexVersion) {
+                current = new Matches(indexVersion, searchIndex.search(searchTerm));
+                matches = current;
+            }
+            return current.roomIds.contains(room.getId());
+        }
+
+        // linear scan when the filter is used without an index, on full room DTOs
+        return (room.getTitle() != null && room.getTitle().toLowerCase().contains(searchTerm)) ||
+               (room.getDescription() != null && room.getDescription().toLowerCase().contains(searchTerm));
+    }
+    
+    @Override
+    public List<RoomDTO> apply(List<RoomDTO> rooms) {
+        return searchTerm.isEmpty() ? rooms : FilterStrategy.super.apply(rooms);
     }
     
     public SearchFilter withSearchTerm(String searchTerm) {
-        return new SearchFilter(searchTerm);
+        return new SearchFilter(searchTerm, searchIndex);
+    }
+
+    // ids of the matching rooms and the index version they were read from
+    private static final class Matches {
+        private final long indexVersion;
+        private final Set<Long> roomIds;
+
+        private Matches(long indexVersion, Set<Long> roomIds) {
+            this.indexVersion = indexVersion;
+            this.roomIds = roomIds;
+        }
     }
-}
\ No newline at end of file
+}
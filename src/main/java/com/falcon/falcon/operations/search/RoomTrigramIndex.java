@@ -0,0 +1,248 @@
+package com.falcon.falcon.operations.search;
+
+import com.falcon.falcon.dtos.catalog.RoomSearchDocument;
+import com.falcon.falcon.repositories.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram (inverted) index over Room.title and Room.description.
+ *
+ * Every lowercased room text is cut into overlapping 3-character sequences (trigrams), and each trigram
+ * points to the sorted list of room ids containing it (posting list). A substring query is answered by
+ * intersecting the posting lists of the query's trigrams, then verifying the few remaining candidates,
+ * so the cost depends on the selectivity of the term and not on the total amount of text in the catalog.
+ *
+ * The index is built once the application is ready and updated incrementally when a room is created.
+ * Rooms indexed while the build is loading (committed after its read) are buffered and replayed right after the swap,
+ * under the same lock, so no room created during startup is left out of the ready index.
+ * Terms shorter than 3 characters have no trigram, they are answered by scanning the already lowercased texts.
+ * While the index is disabled or not built yet, search() runs a LIKE query on the full title and description,
+ * so a term is never matched against a truncated text.
+ */
+@Component
+public class RoomTrigramIndex {
+    private static final Logger logger = LoggerFactory.getLogger(RoomTrigramIndex.class);
+    private static final char FIELD_SEPARATOR = '\u0000'; // keeps a match from spanning the title and the description
+    private static final int GRAM = 3;
+
+    private final RoomRepository roomRepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, PostingList> postings = new HashMap<>(); // trigram -> sorted room ids
+    private Map<Long, String> documents = new HashMap<>(); // room id -> lowercased "title \0 description"
+    private final List<RoomSearchDocument> pendingUpdates = new ArrayList<>(); // index() calls received before the first build, guarded by lock
+    private volatile boolean ready = false;
+    private volatile long version = 0; // incremented on every change, lets callers detect stale search results
+
+    public RoomTrigramIndex(RoomRepository roomRepository,
+                            @Value("${rooms.search.index.enabled:true}") boolean enabled) {
+        this.roomRepository = roomRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, PostingList> newPostings = new HashMap<>();
+        Map<Long, String> newDocuments = new HashMap<>();
+        List<RoomSearchDocument> rooms = roomRepository.findAllSearchDocuments();
+        for (RoomSearchDocument room : rooms) { // rows come ordered by id, so postings are built by appending
+            String text = normalize(room.getTitle(), room.getDescription());
+            newDocuments.put(room.getId(), text);
+            for (long trigram : trigrams(text)) {
+                newPostings.computeIfAbsent(trigram, t -> new PostingList()).add(room.getId());
+            }
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            this.postings = newPostings;
+            this.documents = newDocuments;
+            // rooms created while the rows above were read, re-indexing a room already loaded is harmless
+            replayed = pendingUpdates.size();
+            for (RoomSearchDocument room : pendingUpdates) {
+                add(room.getId(), normalize(room.getTitle(), room.getDescription()));
+            }
+            pendingUpdates.clear();
+            this.ready = true;
+            this.version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Room search index built: {} rooms, {} trigrams ({} updates received during the build)",
+                newDocuments.size(), newPostings.size(), replayed);
+    }
+
+    // adds a room to the index, or re-indexes it if it is already there
+    public void index(Long roomId, String title, String description) {
+        lock.writeLock().lock();
+        try {
+            version++; // also outdates the search results read from the database fallback
+            if (!enabled) {
+                return;
+            }
+            if (!ready) {
+                // the startup build may already have read the rooms, it replays this update after its swap
+                pendingUpdates.add(new RoomSearchDocument(roomId, title, description));
+                return;
+            }
+            add(roomId, normalize(title, description));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // (re-)indexes one room text, the caller holds the write lock
+    private void add(Long roomId, String text) {
+        String previous = documents.put(roomId, text);
+        if (previous != null) {
+            for (long trigram : trigrams(previous)) {
+                PostingList list = postings.get(trigram);
+                if (list != null && list.remove(roomId) && list.size == 0) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+        for (long trigram : trigrams(text)) {
+            postings.computeIfAbsent(trigram, t -> new PostingList()).add(roomId);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the ids of the rooms whose title or description contains the term (case insensitive).
+     * Answered from memory once the index is ready, by the database otherwise.
+     *
+     * @param term the raw search term
+     * @return the ids of the matching rooms
+     */
+    public Set<Long> search(String term) {
+        String needle = term.toLowerCase().trim();
+        if (!ready) {
+            return new HashSet<>(roomRepository.findIdsByTextContaining("%" + escapeLike(needle) + "%"));
+        }
+        Set<Long> matches = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            if (needle.length() < GRAM) { // no trigram to look up
+                documents.forEach((roomId, text) -> {
+                    if (text.contains(needle)) {
+                        matches.add(roomId);
+                    }
+                });
+                return matches;
+            }
+
+            // collect the posting lists of the term's trigrams, a missing trigram means no room can match
+            List<PostingList> lists = new ArrayList<>();
+            for (long trigram : trigrams(needle)) {
+                PostingList list = postings.get(trigram);
+                if (list == null) {
+                    return matches;
+                }
+                lists.add(list);
+            }
+
+            // intersect from the shortest list, the candidate set can only shrink
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            long[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = intersect(candidates, count, lists.get(i));
+            }
+
+            // all trigrams present does not mean they are contiguous, verify the candidates
+            for (int i = 0; i < count; i++) {
+                if (documents.get(candidates[i]).contains(needle)) {
+                    matches.add(candidates[i]);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // keeps in candidates[0..count) only the ids also present in the list, returns the new count
+    private int intersect(long[] candidates, int count, PostingList list) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            int position = Arrays.binarySearch(list.ids, from, list.size, candidates[i]);
+            if (position >= 0) {
+                candidates[kept++] = candidates[i];
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return kept;
+    }
+
+    // escape character of RoomRepository.findIdsByTextContaining
+    private String escapeLike(String term) {
+        return term.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private String normalize(String title, String description) {
+        return (title != null ? title.toLowerCase() : "") + FIELD_SEPARATOR + (description != null ? description.toLowerCase() : "");
+    }
+
+    // distinct trigrams of a text, each packed in a long (3 x 16-bit chars)
+    private Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    // growable sorted array of room ids
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size = 0;
+
+        private void add(long roomId) {
+            int position = size > 0 && ids[size - 1] < roomId ? -(size + 1) : Arrays.binarySearch(ids, 0, size, roomId);
+            if (position >= 0) {
+                return; // already there
+            }
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = roomId;
+            size++;
+        }
+
+        private boolean remove(long roomId) {
+            int position = Arrays.binarySearch(ids, 0, size, roomId);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.falcon.falcon.operations.sorters;
+
+import com.falcon.falcon.dtos.RoomDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+
+@Component
+public class ComplexitySorter implements SortStrategy {
+    // EASY -> MEDIUM -> HARD (enum declaration order), rooms without complexity last
+    private static final Comparator<RoomDTO> EASIEST_FIRST = Comparator.comparing(RoomDTO::getComplexity, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Override
+    public Comparator<RoomDTO> comparator() {
+        return EASIEST_FIRST;
+    }
+}
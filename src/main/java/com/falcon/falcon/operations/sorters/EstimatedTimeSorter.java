@@ -0,0 +1,16 @@
+package com.falcon.falcon.operations.sorters;
+
+import com.falcon.falcon.dtos.RoomDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+
+@Component
+public class EstimatedTimeSorter implements SortStrategy {
+    private static final Comparator<RoomDTO> SHORTEST_FIRST = Comparator.comparingInt(RoomDTO::getEstimatedTime);
+
+    @Override
+    public Comparator<RoomDTO> comparator() {
+        return SHORTEST_FIRST;
+    }
+}
@@ -4,16 +4,13 @@ import com.falcon.falcon.dtos.RoomDTO;
 import org.springframework.stereotype.Component;
 
 import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class MostUsersSorter implements SortStrategy {
-    
+    private static final Comparator<RoomDTO> MOST_USERS_FIRST = Comparator.comparing(RoomDTO::getTotalJoinedUsers).reversed();
+
     @Override
-    public List<RoomDTO> apply(List<RoomDTO> rooms) {
-        return rooms.stream()
-                .sorted(Comparator.comparing(RoomDTO::getTotalJoinedUsers).reversed())
-                .collect(Collectors.toList());
+    public Comparator<RoomDTO> comparator() {
+        return MOST_USERS_FIRST;
     }
-}
\ No newline at end of file
+}
@@ -4,16 +4,13 @@ import com.falcon.falcon.dtos.RoomDTO;
 import org.springframework.stereotype.Component;
 
 import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class NewestRoomsSorter implements SortStrategy {
-    
+    private static final Comparator<RoomDTO> NEWEST_FIRST = Comparator.comparing(RoomDTO::getCreatedAt).reversed(); // createdAt in descending order
+
     @Override
-    public List<RoomDTO> apply(List<RoomDTO> rooms) {
-        return rooms.stream()
-                .sorted(Comparator.comparing(RoomDTO::getCreatedAt).reversed()) // Sort by createdAt in descending order
-                .collect(Collectors.toList());
+    public Comparator<RoomDTO> comparator() {
+        return NEWEST_FIRST;
     }
-}
\ No newline at end of file
+}
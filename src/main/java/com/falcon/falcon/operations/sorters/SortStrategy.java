@@ -1,11 +1,29 @@
 package com.falcon.falcon.operations.sorters;
 
+import com.falcon.falcon.dtos.RoomDTO;
 import com.falcon.falcon.operations.RoomOperation;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 /**
  * Strategy interface for room sorting operations.
  * Extends RoomOperation to participate in the Composite pattern.
+ * Each sorter exposes its order as a Comparator so several sort keys can be composed into one sort.
  */
 public interface SortStrategy extends RoomOperation {
-    // Inherits apply(List<RoomDTO> rooms) from RoomOperation
-}
\ No newline at end of file
+    Comparator<RoomDTO> comparator();
+
+    @Override
+    default List<RoomDTO> apply(List<RoomDTO> rooms) {
+        List<RoomDTO> sorted = new ArrayList<>(rooms);
+        sorted.sort(comparator());
+        return sorted;
+    }
+
+    // returns only the first `limit` rooms of the sorted order, with a bounded-heap partial selection
+    default List<RoomDTO> apply(List<RoomDTO> rooms, int limit) {
+        return TopKSelection.topK(rooms, comparator(), limit);
+    }
+}
@@ -0,0 +1,54 @@
+package com.falcon.falcon.operations.sorters;
+
+import com.falcon.falcon.dtos.RoomDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded-heap partial selection: returns the first k rooms of the order defined by the comparator
+ * in O(n log k) instead of sorting the whole list in O(n log n).
+ * Ties keep the input order, so the result is exactly the prefix a stable full sort would produce.
+ */
+public final class TopKSelection {
+
+    private TopKSelection() {}
+
+    public static List<RoomDTO> topK(List<RoomDTO> rooms, Comparator<RoomDTO> comparator, int k) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        if (k >= rooms.size()) { // nothing to leave out, a full sort is cheaper than the heap
+            List<RoomDTO> sorted = new ArrayList<>(rooms);
+            sorted.sort(comparator);
+            return sorted;
+        }
+
+        // positions in the input list, ordered by the comparator then by position (stable)
+        Comparator<Integer> order = (a, b) -> {
+            int result = comparator.compare(rooms.get(a), rooms.get(b));
+            return result != 0 ? result : Integer.compare(a, b);
+        };
+
+        // max-heap on the wanted order: the head is the worst of the k best rooms seen so far
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k, order.reversed());
+        for (int i = 0; i < rooms.size(); i++) {
+            if (heap.size() < k) {
+                heap.add(i);
+            } else if (order.compare(i, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+
+        List<Integer> positions = new ArrayList<>(heap);
+        positions.sort(order);
+        List<RoomDTO> result = new ArrayList<>(positions.size());
+        for (Integer position : positions) {
+            result.add(rooms.get(position));
+        }
+        return result;
+    }
+}
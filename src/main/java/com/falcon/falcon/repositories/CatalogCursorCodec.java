@@ -0,0 +1,72 @@
+package com.falcon.falcon.repositories;
+
+import com.falcon.falcon.dtos.RoomFilterCriteria.SortBy;
+import com.falcon.falcon.dtos.catalog.RoomCatalogRow;
+import com.falcon.falcon.exceptions.roomExceptions.InvalidCatalogCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset cursor of the database catalog engine.
+ *
+ * A cursor is the URL-safe Base64 encoding of the sort key values of the last row of a page followed by its id,
+ * separated by '|'. Decoding returns the values typed like the sort expressions they are compared with
+ * (LocalDateTime for NEWEST, Integer for the other keys, Long for the id).
+ */
+final class CatalogCursorCodec {
+    private static final String SEPARATOR = "|";
+
+    private CatalogCursorCodec() {
+    }
+
+    static String encode(RoomCatalogRow lastRow, List<SortBy> sortKeys) {
+        List<String> values = new ArrayList<>();
+        for (SortBy key : sortKeys) {
+            values.add(value(lastRow, key));
+        }
+        values.add(String.valueOf(lastRow.getId()));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, values).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // the cursor is only valid for the sort keys it was produced with
+    static List<Comparable<?>> decode(String cursor, List<SortBy> sortKeys) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<String> values = Arrays.asList(decoded.split("\\" + SEPARATOR, -1));
+            if (values.size() != sortKeys.size() + 1) {
+                throw new InvalidCatalogCursorException("cursor does not match the requested sort order");
+            }
+            List<Comparable<?>> parsed = new ArrayList<>();
+            for (int i = 0; i < sortKeys.size(); i++) {
+                parsed.add(parse(values.get(i), sortKeys.get(i)));
+            }
+            parsed.add(Long.valueOf(values.get(sortKeys.size())));
+            return parsed;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCatalogCursorException("invalid catalog cursor");
+        }
+    }
+
+    private static String value(RoomCatalogRow row, SortBy key) {
+        return switch (key) {
+            case NEWEST -> String.valueOf(row.getCreatedAt());
+            case MOST_USERS -> String.valueOf(row.getTotalJoinedUsers());
+            case COMPLEXITY -> String.valueOf(row.getComplexity() != null ? row.getComplexity().ordinal() : 3);
+            case ESTIMATED_TIME -> String.valueOf(row.getEstimatedTime());
+        };
+    }
+
+    private static Comparable<?> parse(String value, SortBy key) {
+        return switch (key) {
+            case NEWEST -> LocalDateTime.parse(value);
+            case MOST_USERS, COMPLEXITY, ESTIMATED_TIME -> Integer.valueOf(value);
+        };
+    }
+}
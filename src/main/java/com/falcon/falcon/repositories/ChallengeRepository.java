@@ -1,7 +1,15 @@
 package com.falcon.falcon.repositories;
 
+import com.falcon.falcon.dtos.challenge.ChallengeFlagRow;
 import com.falcon.falcon.entities.Challenge;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface ChallengeRepository extends JpaRepository<Challenge, Long> {
+    // flag and owning room only, the LONGTEXT columns are not read (used to fill FlagVerifier)
+    @Query("SELECT new com.falcon.falcon.dtos.challenge.ChallengeFlagRow(c.room.id, c.flag) FROM Challenge c WHERE c.id = :challengeId")
+    Optional<ChallengeFlagRow> findFlagById(@Param("challengeId") Long challengeId);
 }
@@ -0,0 +1,14 @@
+package com.falcon.falcon.repositories;
+
+import com.falcon.falcon.entities.FlagSubmissionAttempt;
+
+import java.util.List;
+
+// custom repository fragment, submission attempts appended as JDBC batches (FlagSubmissionAttemptBatchRepositoryImpl)
+public interface FlagSubmissionAttemptBatchRepository {
+    /**
+     * Inserts the attempts with one prepared INSERT executed as a single JDBC batch.
+     * The attempts are not managed and their ids are not read back.
+     */
+    void batchInsert(List<FlagSubmissionAttempt> attempts);
+}
@@ -0,0 +1,36 @@
+package com.falcon.falcon.repositories;
+
+import com.falcon.falcon.entities.FlagSubmissionAttempt;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.List;
+
+// JDBC batch implementation of the attempt log writes, inside the caller's transaction like RoomMembershipBatchRepositoryImpl
+public class FlagSubmissionAttemptBatchRepositoryImpl implements FlagSubmissionAttemptBatchRepository {
+    private static final String INSERT_ATTEMPT =
+            "INSERT INTO flag_submission_attempt (user_id, challenge_id, submitted_flag, is_correct, attempted_at) " +
+            "VALUES (:userId, :challengeId, :submittedFlag, :isCorrect, :attemptedAt)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public FlagSubmissionAttemptBatchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<FlagSubmissionAttempt> attempts) {
+        SqlParameterSource[] parameters = new SqlParameterSource[attempts.size()];
+        for (int i = 0; i < parameters.length; i++) {
+            FlagSubmissionAttempt attempt = attempts.get(i);
+            parameters[i] = new MapSqlParameterSource()
+                    .addValue("userId", attempt.getUserId())
+                    .addValue("challengeId", attempt.getChallengeId())
+                    .addValue("submittedFlag", attempt.getSubmittedFlag())
+                    .addValue("isCorrect", attempt.getIsCorrect())
+                    .addValue("attemptedAt", attempt.getAttemptedAt());
+        }
+        jdbcTemplate.batchUpdate(INSERT_ATTEMPT, parameters);
+    }
+}
@@ -0,0 +1,7 @@
+package com.falcon.falcon.repositories;
+
+import com.falcon.falcon.entities.FlagSubmissionAttempt;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface FlagSubmissionAttemptRepository extends JpaRepository<FlagSubmissionAttempt, Long>, FlagSubmissionAttemptBatchRepository {
+}
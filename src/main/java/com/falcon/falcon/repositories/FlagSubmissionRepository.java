@@ -1,15 +1,26 @@
 package com.falcon.falcon.repositories;
 
+import com.falcon.falcon.dtos.challenge.FlagSubmissionState;
 import com.falcon.falcon.entities.FlagSubmission;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Date;
 import java.util.Optional;
 import java.util.Set;
 
 public interface FlagSubmissionRepository extends JpaRepository<FlagSubmission, Long> {
+    // inserts the solved row, a duplicate (user_id, challenge_id) key leaves the existing row as is (0 affected rows,
+    // with useAffectedRows=true on the pool like RoomMembershipRepository's upserts)
+    String INSERT_SOLVED = "INSERT INTO flag_submission (user_id, challenge_id, submitted_flag, is_correct, submission_date) " +
+                           "VALUES (:userId, :challengeId, :flag, true, :date) " +
+                           "ON DUPLICATE KEY UPDATE id = id";
+
     /**
      * Finds the IDs of challenges that a specific user has successfully completed in a specific room.
      *
@@ -44,6 +55,30 @@ public interface FlagSubmissionRepository extends JpaRepository<FlagSubmission,
     @Query("SELECT fs FROM FlagSubmission fs WHERE fs.user.id = :userId AND fs.challenge.id = :challengeId")
     Optional<FlagSubmission> findByUserIdAndChallengeId(@Param("userId") Long userId, @Param("challengeId") Long challengeId);
 
+    /**
+     * Reads the id and correctness of a user's submission for a challenge, without loading its user and challenge
+     */
+    @Query("SELECT new com.falcon.falcon.dtos.challenge.FlagSubmissionState(fs.id, fs.isCorrect) FROM FlagSubmission fs WHERE fs.user.id = :userId AND fs.challenge.id = :challengeId")
+    Optional<FlagSubmissionState> findStateByUserIdAndChallengeId(@Param("userId") Long userId, @Param("challengeId") Long challengeId);
+
+    /**
+     * Marks an incorrect submission as correct. Returns 0 when a concurrent submission already did it,
+     * so only one request counts the challenge as completed.
+     */
+    @Modifying
+    @Query("UPDATE FlagSubmission fs SET fs.submittedFlag = :flag, fs.isCorrect = true, fs.submissionDate = :date WHERE fs.id = :id AND fs.isCorrect = false")
+    int markCorrect(@Param("id") Long id, @Param("flag") String flag, @Param("date") Date date);
+
+    /**
+     * Records the first correct submission of a user for a challenge. Returns 1 when this statement created the row,
+     * 0 when a concurrent submission of the same user already did, so only one request counts the challenge as completed.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "flag_submission"))
+    @Query(value = INSERT_SOLVED, nativeQuery = true)
+    int insertSolved(@Param("userId") Long userId, @Param("challengeId") Long challengeId,
+                     @Param("flag") String flag, @Param("date") Date date);
+
     /**
      * Finds all challenge IDs from a room that a user has submitted flags for
      */
@@ -0,0 +1,26 @@
+package com.falcon.falcon.repositories;
+
+import com.falcon.falcon.dtos.RoomFilterCriteria;
+import com.falcon.falcon.dtos.catalog.CursorPage;
+import com.falcon.falcon.dtos.catalog.RoomCatalogRow;
+
+import java.util.function.Consumer;
+
+// custom repository fragment, implemented with the Criteria API in RoomCatalogQueryRepositoryImpl
+public interface RoomCatalogQueryRepository {
+    /**
+     * Translates the filter criteria into a single query (WHERE + ORDER BY + keyset predicate)
+     * over rooms LEFT JOINed with the user's membership, so only one page of rows leaves the database.
+     *
+     * @param userId The ID of the user the catalog is built for
+     * @param criteria filters, sort key, page size (limit) and the cursor returned by the previous page
+     * @return the rows of the page and the cursor of the next one (null when there is no next page)
+     */
+    CursorPage<RoomCatalogRow> findRoomCatalogPage(Long userId, RoomFilterCriteria criteria);
+
+    /**
+     * Same query as findRoomCatalogPage without the page size, the rows are streamed from the result set
+     * to the consumer one by one (must be called inside a transaction).
+     */
+    void forEachRoomCatalogRow(Long userId, RoomFilterCriteria criteria, Consumer<RoomCatalogRow> consumer);
+}
@@ -0,0 +1,205 @@
+package com.falcon.falcon.repositories;
+
+import com.falcon.falcon.dtos.RoomFilterCriteria;
+import com.falcon.falcon.dtos.RoomFilterCriteria.SortBy;
+import com.falcon.falcon.dtos.catalog.CursorPage;
+import com.falcon.falcon.dtos.catalog.RoomCatalogCard;
+import com.falcon.falcon.dtos.catalog.RoomCatalogRow;
+import com.falcon.falcon.entities.Room;
+import com.falcon.falcon.entities.RoomMembership;
+import com.falcon.falcon.enums.Complexity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Criteria API implementation of the database catalog engine.
+ *
+ * Rows are ordered by the requested sort keys and then by room id ascending, which makes the order total.
+ * The cursor (CatalogCursorCodec) holds the sort key values and the id of the last row of a page,
+ * the next page starts strictly after that position (keyset pagination, no OFFSET).
+ */
+public class RoomCatalogQueryRepositoryImpl implements RoomCatalogQueryRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public CursorPage<RoomCatalogRow> findRoomCatalogPage(Long userId, RoomFilterCriteria criteria) {
+        List<SortBy> sortKeys = sortKeys(criteria);
+        TypedQuery<RoomCatalogRow> typedQuery = catalogQuery(userId, criteria, sortKeys);
+        if (criteria.getLimit() == null) { // no page size requested, the whole filtered catalog is one page
+            return new CursorPage<>(typedQuery.getResultList(), null);
+        }
+
+        int limit = Math.max(1, criteria.getLimit());
+        // we read one extra row to know if there is a next page without running a COUNT query
+        List<RoomCatalogRow> rows = typedQuery.setMaxResults(limit + 1).getResultList();
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<RoomCatalogRow> page = new ArrayList<>(rows.subList(0, limit));
+        return new CursorPage<>(page, CatalogCursorCodec.encode(page.get(page.size() - 1), sortKeys));
+    }
+
+    @Override
+    public void forEachRoomCatalogRow(Long userId, RoomFilterCriteria criteria, Consumer<RoomCatalogRow> consumer) {
+        // rows are handed over as the JDBC result set is read, the filtered catalog is never held as a list
+        try (Stream<RoomCatalogRow> rows = catalogQuery(userId, criteria, sortKeys(criteria)).getResultStream()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    // SELECT ... FROM room LEFT JOIN membership WHERE <filters> [AND <keyset predicate>] ORDER BY <sort keys>, id
+    private TypedQuery<RoomCatalogRow> catalogQuery(Long userId, RoomFilterCriteria criteria, List<SortBy> sortKeys) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RoomCatalogRow> query = cb.createQuery(RoomCatalogRow.class);
+        Root<Room> room = query.from(Room.class);
+        // LEFT JOIN room_membership rm ON rm.room_id = r.id AND rm.user_id = :userId
+        Join<Room, RoomMembership> membership = room.join("memberships", JoinType.LEFT);
+        membership.on(cb.equal(membership.get("user").get("id"), userId));
+
+        query.select(cb.construct(RoomCatalogRow.class,
+                room.get("id"), room.get("amiId"), room.get("title"),
+                cb.substring(room.get("description"), 1, RoomCatalogCard.DESCRIPTION_HEAD_LENGTH), // never the whole LONGTEXT
+                room.get("complexity"), room.get("imageURL"), room.get("estimatedTime"), room.get("totalChallenges"),
+                room.get("createdAt"), room.get("totalRunningInstances"), room.get("totalJoinedUsers"),
+                membership.get("isJoined"), membership.get("isSaved"), membership.get("challengesCompleted")));
+
+        List<Predicate> predicates = filterPredicates(cb, room, membership, criteria);
+        if (criteria.getCursor() != null && !criteria.getCursor().isBlank()) {
+            predicates.add(keysetPredicate(cb, room, sortKeys, CatalogCursorCodec.decode(criteria.getCursor(), sortKeys)));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(orders(cb, room, sortKeys));
+        return entityManager.createQuery(query);
+    }
+
+    // primary key then tie-breaking keys, same composition as the in-memory SorterChain
+    private List<SortBy> sortKeys(RoomFilterCriteria criteria) {
+        List<SortBy> keys = new ArrayList<>();
+        if (criteria.getSortBy() != null) {
+            keys.add(criteria.getSortBy());
+        }
+        if (criteria.getThenBy() != null) {
+            criteria.getThenBy().stream().filter(key -> key != null && !keys.contains(key)).forEach(keys::add);
+        }
+        return keys;
+    }
+
+    // WHERE clause equivalent of the ComplexityFilter, SearchFilter, EnrollmentFilter and CompletionFilter strategies
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Room> room,
+                                             Join<Room, RoomMembership> membership, RoomFilterCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (criteria.getComplexity() != null) {
+            predicates.add(cb.equal(room.get("complexity"), criteria.getComplexity()));
+        }
+
+        if (criteria.getSearchTerm() != null && !criteria.getSearchTerm().trim().isEmpty()) {
+            String pattern = "%" + escapeLike(criteria.getSearchTerm().toLowerCase().trim()) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(room.get("title")), pattern, '\\'),
+                    cb.like(cb.lower(room.get("description")), pattern, '\\')));
+        }
+
+        if (criteria.getEnrollmentStatus() != null) {
+            Path<Boolean> isJoined = membership.get("isJoined");
+            switch (criteria.getEnrollmentStatus()) {
+                case ENROLLED -> predicates.add(cb.isTrue(isJoined));
+                case NOT_ENROLLED -> predicates.add(cb.or(cb.isNull(isJoined), cb.isFalse(isJoined)));
+                case ALL -> { }
+            }
+        }
+
+        if (criteria.getCompletionStatus() != null) {
+            // percentageCompleted = challengesCompleted * 100 / totalChallenges (0 when the room has no challenges)
+            Expression<Integer> completed = cb.coalesce(membership.get("challengesCompleted"), 0);
+            Expression<Integer> total = room.get("totalChallenges");
+            Expression<Integer> completedTimesHundred = cb.prod(completed, 100);
+            switch (criteria.getCompletionStatus()) {
+                case COMPLETED -> predicates.add(cb.and(
+                        cb.greaterThan(total, 0),
+                        cb.equal(completed, total)));
+                case IN_PROGRESS -> predicates.add(cb.and(
+                        cb.greaterThan(total, 0),
+                        cb.greaterThanOrEqualTo(completedTimesHundred, total),
+                        cb.lessThan(completed, total)));
+                case NOT_STARTED -> predicates.add(cb.or(
+                        cb.equal(total, 0),
+                        cb.lessThan(completedTimesHundred, total)));
+                case ALL -> { }
+            }
+        }
+
+        return predicates;
+    }
+
+    private List<Order> orders(CriteriaBuilder cb, Root<Room> room, List<SortBy> sortKeys) {
+        List<Order> orders = new ArrayList<>();
+        for (SortBy key : sortKeys) {
+            orders.add(isDescending(key) ? cb.desc(sortExpression(room, key)) : cb.asc(sortExpression(room, key)));
+        }
+        orders.add(cb.asc(room.get("id"))); // explicit tie-breaker, keeps the order total and the cursor stable
+        return orders;
+    }
+
+    // (k1 after c1) OR (k1 = c1 AND k2 after c2) OR ... OR (k1 = c1 AND ... AND id > lastId)
+    private Predicate keysetPredicate(CriteriaBuilder cb, Root<Room> room, List<SortBy> sortKeys, List<Comparable<?>> cursor) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalities = new ArrayList<>();
+        for (int i = 0; i < sortKeys.size(); i++) {
+            SortBy key = sortKeys.get(i);
+            Expression<?> expression = sortExpression(room, key);
+            List<Predicate> alternative = new ArrayList<>(equalities);
+            alternative.add(after(cb, expression, cursor.get(i), isDescending(key)));
+            alternatives.add(cb.and(alternative.toArray(new Predicate[0])));
+            equalities.add(cb.equal(expression, cursor.get(i)));
+        }
+        List<Predicate> lastAlternative = new ArrayList<>(equalities);
+        lastAlternative.add(after(cb, room.get("id"), cursor.get(sortKeys.size()), false));
+        alternatives.add(cb.and(lastAlternative.toArray(new Predicate[0])));
+        return cb.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder cb, Expression expression, Comparable value, boolean descending) {
+        return descending ? cb.lessThan(expression, value) : cb.greaterThan(expression, value);
+    }
+
+    private Expression<?> sortExpression(Root<Room> room, SortBy key) {
+        return switch (key) {
+            case NEWEST -> room.get("createdAt");
+            case MOST_USERS -> room.get("totalJoinedUsers");
+            case COMPLEXITY -> complexityRank(room);
+            case ESTIMATED_TIME -> room.get("estimatedTime");
+        };
+    }
+
+    // complexity is stored as a string, rank it like the enum order (EASY, MEDIUM, HARD), unknown last
+    private Expression<Integer> complexityRank(Root<Room> room) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Path<Complexity> complexity = room.get("complexity");
+        return cb.<Integer>selectCase()
+                .when(cb.equal(complexity, Complexity.EASY), 0)
+                .when(cb.equal(complexity, Complexity.MEDIUM), 1)
+                .when(cb.equal(complexity, Complexity.HARD), 2)
+                .otherwise(3);
+    }
+
+    private boolean isDescending(SortBy key) {
+        return switch (key) {
+            case NEWEST, MOST_USERS -> true;
+            case COMPLEXITY, ESTIMATED_TIME -> false;
+        };
+    }
+
+    private String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,21 @@
+package com.falcon.falcon.repositories;
+
+import java.util.Map;
+
+// custom repository fragment, room counter writes sent as plain JDBC statements (RoomCounterRepositoryImpl)
+public interface RoomCounterRepository {
+    /**
+     * Adds each delta to the room's totalJoinedUsers with a relative UPDATE, executed as one JDBC batch.
+     */
+    void addToTotalJoinedUsers(Map<Long, Long> deltas);
+
+    /**
+     * Adds each delta to the room's totalRunningInstances with a relative UPDATE, executed as one JDBC batch.
+     */
+    void addToTotalRunningInstances(Map<Long, Long> deltas);
+
+    /**
+     * Overwrites the room's totalRunningInstances (reconciliation).
+     */
+    int setTotalRunningInstances(Long roomId, int value);
+}
@@ -0,0 +1,58 @@
+package com.falcon.falcon.repositories;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.Map;
+
+/**
+ * JDBC implementation of the room counter writes, inside the caller's transaction.
+ *
+ * A JPQL bulk UPDATE on Room makes Hibernate evict the whole Room region of the second-level cache,
+ * and the counters are flushed every second: these statements bypass Hibernate, so the caller evicts
+ * only the rooms it changed (RoomCounterServiceImpl).
+ */
+public class RoomCounterRepositoryImpl implements RoomCounterRepository {
+    private static final String ADD_JOINED_USERS =
+            "UPDATE room SET total_joined_users = total_joined_users + :delta WHERE id = :roomId";
+    private static final String ADD_RUNNING_INSTANCES =
+            "UPDATE room SET total_running_instances = total_running_instances + :delta WHERE id = :roomId";
+    private static final String SET_RUNNING_INSTANCES =
+            "UPDATE room SET total_running_instances = :value WHERE id = :roomId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public RoomCounterRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addToTotalJoinedUsers(Map<Long, Long> deltas) {
+        addDeltas(ADD_JOINED_USERS, deltas);
+    }
+
+    @Override
+    public void addToTotalRunningInstances(Map<Long, Long> deltas) {
+        addDeltas(ADD_RUNNING_INSTANCES, deltas);
+    }
+
+    @Override
+    public int setTotalRunningInstances(Long roomId, int value) {
+        return jdbcTemplate.update(SET_RUNNING_INSTANCES, new MapSqlParameterSource()
+                .addValue("roomId", roomId)
+                .addValue("value", value));
+    }
+
+    private void addDeltas(String sql, Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] parameters = deltas.entrySet().stream()
+                .map(delta -> new MapSqlParameterSource()
+                        .addValue("roomId", delta.getKey())
+                        .addValue("delta", delta.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(sql, parameters);
+    }
+}
@@ -0,0 +1,31 @@
+package com.falcon.falcon.repositories;
+
+import com.falcon.falcon.dtos.enrollment.EnrollmentPair;
+
+import java.util.List;
+
+// custom repository fragment, membership changes of many (user, room) pairs sent as JDBC batches (RoomMembershipBatchRepositoryImpl)
+public interface RoomMembershipBatchRepository {
+    /**
+     * Joins every pair with the UPSERT_JOINED statement, executed as one JDBC batch.
+     *
+     * @return for each pair (same order), whether its membership actually changed (created or flipped to joined)
+     */
+    boolean[] batchUpsertJoined(List<EnrollmentPair> pairs);
+
+    /**
+     * Saves every pair with the UPSERT_SAVED statement, executed as one JDBC batch.
+     *
+     * @return for each pair (same order), whether its membership actually changed (created or flipped to saved)
+     */
+    boolean[] batchUpsertSaved(List<EnrollmentPair> pairs);
+
+    /**
+     * Makes every pair leave its room, like UserRoomService.leaveRoom: the user's flag submissions of the room are deleted,
+     * a saved membership is kept with isJoined = false and its progress reset, any other membership is deleted.
+     * Three batches (submissions, updates, deletes), pairs that were not joined are left untouched.
+     *
+     * @return for each pair (same order), whether it was joined and has now left
+     */
+    boolean[] batchLeave(List<EnrollmentPair> pairs);
+}
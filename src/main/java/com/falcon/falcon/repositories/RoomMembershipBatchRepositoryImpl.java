@@ -0,0 +1,81 @@
+package com.falcon.falcon.repositories;
+
+import com.falcon.falcon.dtos.enrollment.EnrollmentPair;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * JDBC batch implementation of the bulk membership changes.
+ *
+ * Each statement is prepared once and executed for all the pairs in one executeBatch, inside the caller's transaction
+ * (the JPA transaction manager exposes its connection to the JdbcTemplate). No entity is loaded or managed.
+ * The per-pair update counts tell which memberships actually changed, so the driver must report them:
+ * useAffectedRows=true (set on the pool, see RoomMembershipRepository) and no rewriteBatchedStatements, which collapses the counts.
+ */
+public class RoomMembershipBatchRepositoryImpl implements RoomMembershipBatchRepository {
+    private static final String DELETE_SUBMISSIONS =
+            "DELETE fs FROM flag_submission fs JOIN challenge c ON c.id = fs.challenge_id " +
+            "WHERE fs.user_id = :userId AND c.room_id = :roomId " +
+            "AND EXISTS (SELECT 1 FROM room_membership rm WHERE rm.user_id = :userId AND rm.room_id = :roomId AND rm.is_joined = true)";
+    private static final String LEAVE_SAVED =
+            "UPDATE room_membership SET is_joined = false, challenges_completed = 0, completed_at = NULL, version = version + 1 " +
+            "WHERE user_id = :userId AND room_id = :roomId AND is_joined = true AND is_saved = true";
+    private static final String LEAVE_NOT_SAVED =
+            "DELETE FROM room_membership " +
+            "WHERE user_id = :userId AND room_id = :roomId AND is_joined = true AND (is_saved = false OR is_saved IS NULL)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public RoomMembershipBatchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean[] batchUpsertJoined(List<EnrollmentPair> pairs) {
+        return changed(batch(RoomMembershipRepository.UPSERT_JOINED, pairs));
+    }
+
+    @Override
+    public boolean[] batchUpsertSaved(List<EnrollmentPair> pairs) {
+        return changed(batch(RoomMembershipRepository.UPSERT_SAVED, pairs));
+    }
+
+    @Override
+    public boolean[] batchLeave(List<EnrollmentPair> pairs) {
+        batch(DELETE_SUBMISSIONS, pairs); // first, while the memberships still say which pairs are joined
+        boolean[] updated = changed(batch(LEAVE_SAVED, pairs));
+        boolean[] deleted = changed(batch(LEAVE_NOT_SAVED, pairs));
+        boolean[] left = new boolean[pairs.size()];
+        for (int i = 0; i < left.length; i++) {
+            left[i] = updated[i] || deleted[i];
+        }
+        return left;
+    }
+
+    private int[] batch(String sql, List<EnrollmentPair> pairs) {
+        SqlParameterSource[] parameters = new SqlParameterSource[pairs.size()];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = new MapSqlParameterSource()
+                    .addValue("userId", pairs.get(i).getUserId())
+                    .addValue("roomId", pairs.get(i).getRoomId());
+        }
+        return jdbcTemplate.batchUpdate(sql, parameters);
+    }
+
+    private boolean[] changed(int[] updateCounts) {
+        boolean[] changed = new boolean[updateCounts.length];
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+                // counting would be a guess, the transaction is rolled back instead of skewing the room counters
+                throw new IllegalStateException("The JDBC driver did not report per statement update counts, " +
+                        "disable rewriteBatchedStatements on the membership datasource");
+            }
+            changed[i] = updateCounts[i] > 0;
+        }
+        return changed;
+    }
+}
@@ -1,29 +1,165 @@
 package com.falcon.falcon.repositories;
 
+import com.falcon.falcon.dtos.catalog.JoinedRoomChallengeRow;
+import com.falcon.falcon.dtos.catalog.MembershipOverlay;
+import com.falcon.falcon.dtos.catalog.RoomCatalogRow;
 import com.falcon.falcon.entities.RoomMembership;
 import com.falcon.falcon.enums.Complexity;
 
-import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
-public interface RoomMembershipRepository extends JpaRepository<RoomMembership, Long> {
+public interface RoomMembershipRepository extends JpaRepository<RoomMembership, Long>, RoomMembershipBatchRepository {
+    /*
+     * Single round trip membership upserts on the (user_id, room_id) unique key, no entity is read first
+     * (also executed as JDBC batches by RoomMembershipBatchRepositoryImpl).
+     * MySQL reports 1 affected row for an insert, 2 when the existing row changed and 0 when it was left as is
+     * (the connection must set useAffectedRows=true, otherwise Connector/J reports the matched rows and 0 becomes 1;
+     * it is set on every pooled connection by spring.datasource.hikari.data-source-properties.useAffectedRows).
+     * The native statements declare room_membership as their query space, so Hibernate only invalidates what depends
+     * on that table instead of the whole second-level cache.
+     * SET assignments are applied left to right: version is bumped using the old flag value, then the flag is set.
+     */
+    String UPSERT_JOINED = "INSERT INTO room_membership (user_id, room_id, is_joined, is_saved, challenges_completed, version) " +
+                           "VALUES (:userId, :roomId, true, false, 0, 0) " +
+                           "ON DUPLICATE KEY UPDATE version = IF(is_joined, version, version + 1), is_joined = true";
+    String UPSERT_SAVED = "INSERT INTO room_membership (user_id, room_id, is_joined, is_saved, challenges_completed, version) " +
+                          "VALUES (:userId, :roomId, false, true, 0, 0) " +
+                          "ON DUPLICATE KEY UPDATE version = IF(is_saved, version, version + 1), is_saved = true";
+    // challenges of the membership's room solved by its user, correlated on the updated row (used by repairChallengesCompleted)
+    String SOLVED_CHALLENGES = "SELECT COUNT(DISTINCT fs.challenge_id) FROM flag_submission fs JOIN challenge c ON c.id = fs.challenge_id " +
+                               "WHERE fs.user_id = rm.user_id AND c.room_id = rm.room_id AND fs.is_correct = true";
 
-    @Lock(LockModeType.PESSIMISTIC_READ)
+    // no lock: RoomMembership is versioned, a concurrent update makes the later flush fail and the facade retries
     Optional<RoomMembership> findByRoomIdAndUserId(Long roomId, Long userId);
 
-    @Lock(LockModeType.PESSIMISTIC_READ)
     @EntityGraph(attributePaths = {"room", "user"})
     Optional<RoomMembership> findWithRoomAndUserByRoomIdAndUserId(Long roomId, Long userId);
 
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_membership"))
+    @Query(value = UPSERT_JOINED, nativeQuery = true)
+    int upsertJoined(@Param("userId") Long userId, @Param("roomId") Long roomId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_membership"))
+    @Query(value = UPSERT_SAVED, nativeQuery = true)
+    int upsertSaved(@Param("userId") Long userId, @Param("roomId") Long roomId);
+
+    // Reads only the user specific catalog fields of every membership of a user (no entity, no room join)
+    @Query("SELECT new com.falcon.falcon.dtos.catalog.MembershipOverlay(rm.room.id, rm.isJoined, rm.isSaved, rm.challengesCompleted) FROM RoomMembership rm WHERE rm.user.id = :userId")
+    List<MembershipOverlay> findMembershipOverlaysByUserId(@Param("userId") Long userId);
+
+    // plain consistent read of one membership status (no entity, no lock)
+    @Query("SELECT new com.falcon.falcon.dtos.catalog.MembershipOverlay(rm.room.id, rm.isJoined, rm.isSaved, rm.challengesCompleted) FROM RoomMembership rm WHERE rm.user.id = :userId AND rm.room.id = :roomId")
+    Optional<MembershipOverlay> findMembershipOverlay(@Param("userId") Long userId, @Param("roomId") Long roomId);
+
+    /**
+     * Loads one membership of a user, its room, the room's challenges and a completed flag per challenge in a single query.
+     * The cost depends on the size of one room only, not on how many rooms the user has joined.
+     *
+     * SELECT r.*, rm.is_joined, rm.is_saved, rm.challenges_completed, c.*,
+     *        EXISTS (SELECT 1 FROM flag_submission fs WHERE fs.user_id = ? AND fs.challenge_id = c.id AND fs.is_correct)
+     * FROM room_membership rm
+     * JOIN room r ON r.id = rm.room_id
+     * LEFT JOIN challenge c ON c.room_id = r.id
+     * WHERE rm.user_id = ? AND rm.room_id = ?
+     * ORDER BY c.id;
+     *
+     * @return one row per challenge (a single row with null challenge columns for a room without challenges),
+     *         no row when the user has no membership for the room
+     */
+    @Query("SELECT new com.falcon.falcon.dtos.catalog.JoinedRoomChallengeRow(" +
+           "r.id, r.amiId, r.title, r.description, r.complexity, r.imageURL, r.estimatedTime, r.totalChallenges, " +
+           "r.createdAt, r.totalRunningInstances, r.totalJoinedUsers, rm.isJoined, rm.isSaved, rm.challengesCompleted, " +
+           "c.id, c.name, c.title, c.description, c.instructions, " +
+           "CASE WHEN EXISTS (SELECT 1 FROM FlagSubmission fs WHERE fs.user.id = :userId AND fs.challenge.id = c.id AND fs.isCorrect = true) " +
+           "THEN true ELSE false END) " +
+           "FROM RoomMembership rm JOIN rm.room r LEFT JOIN r.challenges c " +
+           "WHERE rm.user.id = :userId AND r.id = :roomId " +
+           "ORDER BY c.id")
+    List<JoinedRoomChallengeRow> findJoinedRoomWithChallenges(@Param("userId") Long userId, @Param("roomId") Long roomId);
+
+    /**
+     * Adds solved challenges to the user's membership of the room: relative update, no read, no lock held beyond the row write.
+     * Capped at the room's totalChallenges so a replayed solve cannot push the progress past 100%.
+     */
+    @Modifying
+    @Query("UPDATE RoomMembership rm SET rm.challengesCompleted = " +
+           "CASE WHEN rm.challengesCompleted + :solved > (SELECT r.totalChallenges FROM Room r WHERE r.id = :roomId) " +
+           "THEN (SELECT r.totalChallenges FROM Room r WHERE r.id = :roomId) ELSE rm.challengesCompleted + :solved END, " +
+           "rm.version = rm.version + 1 " +
+           "WHERE rm.user.id = :userId AND rm.room.id = :roomId " +
+           "AND rm.challengesCompleted < (SELECT r.totalChallenges FROM Room r WHERE r.id = :roomId)")
+    int addChallengesCompleted(@Param("userId") Long userId, @Param("roomId") Long roomId, @Param("solved") int solved);
+
+    // sets completedAt the first time the membership reaches all the challenges of its room
+    @Modifying
+    @Query("UPDATE RoomMembership rm SET rm.completedAt = :completedAt, rm.version = rm.version + 1 " +
+           "WHERE rm.user.id = :userId AND rm.room.id = :roomId AND rm.completedAt IS NULL " +
+           "AND rm.challengesCompleted > 0 AND rm.challengesCompleted >= (SELECT r.totalChallenges FROM Room r WHERE r.id = :roomId)")
+    int markCompletedIfDone(@Param("userId") Long userId, @Param("roomId") Long roomId, @Param("completedAt") Date completedAt);
+
+    // upper bound of the membership ids, the repairs walk [1, max] in id ranges
+    @Query("SELECT COALESCE(MAX(rm.id), 0) FROM RoomMembership rm")
+    long findMaxId();
+
+    /**
+     * Recomputes challenges_completed of the memberships with afterId < id <= lastId from their correct submissions
+     * and rewrites only the rows that drifted. A bounded primary key range: the statement only locks the rows
+     * of one chunk, for the duration of one chunk.
+     *
+     * @return the number of memberships repaired
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_membership"))
+    @Query(value = "UPDATE room_membership rm " +
+                   "SET rm.challenges_completed = (" + SOLVED_CHALLENGES + "), rm.version = rm.version + 1 " +
+                   "WHERE rm.id > :afterId AND rm.id <= :lastId AND rm.challenges_completed <> (" + SOLVED_CHALLENGES + ")",
+           nativeQuery = true)
+    int repairChallengesCompleted(@Param("afterId") long afterId, @Param("lastId") long lastId);
+
+    // completion dates in line with the counters: set when complete and missing, cleared when no longer complete (same id range)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_membership"))
+    @Query(value = "UPDATE room_membership rm JOIN room r ON r.id = rm.room_id " +
+                   "SET rm.completed_at = CASE WHEN r.total_challenges > 0 AND rm.challenges_completed >= r.total_challenges " +
+                   "                           THEN COALESCE(rm.completed_at, NOW()) ELSE NULL END, " +
+                   "    rm.version = rm.version + 1 " +
+                   "WHERE rm.id > :afterId AND rm.id <= :lastId " +
+                   "  AND ((rm.completed_at IS NULL AND r.total_challenges > 0 AND rm.challenges_completed >= r.total_challenges) " +
+                   "    OR (rm.completed_at IS NOT NULL AND (r.total_challenges = 0 OR rm.challenges_completed < r.total_challenges)))",
+           nativeQuery = true)
+    int repairCompletedAt(@Param("afterId") long afterId, @Param("lastId") long lastId);
+
     // Counts rooms a user has explicitly joined
     long countByUser_IdAndIsJoinedTrue(Long userId);
 
+    /**
+     * One page of the rooms a user has completed, same predicate as countCompletedRoomsForUser.
+     * challengesCompleted > 0 is implied by the predicate and lets idx_membership_user_completed restrict the scan
+     * to the memberships with progress, so the cost follows the completed rooms rather than all the memberships.
+     */
+    @Query("SELECT new com.falcon.falcon.dtos.catalog.RoomCatalogRow(" +
+           "r.id, r.amiId, r.title, " + RoomRepository.DESCRIPTION_HEAD + ", r.complexity, r.imageURL, r.estimatedTime, r.totalChallenges, " +
+           "r.createdAt, r.totalRunningInstances, r.totalJoinedUsers, rm.isJoined, rm.isSaved, rm.challengesCompleted) " +
+           "FROM RoomMembership rm JOIN rm.room r " +
+           "WHERE rm.user.id = :userId AND rm.challengesCompleted > 0 AND r.totalChallenges > 0 AND rm.challengesCompleted = r.totalChallenges " +
+           "ORDER BY r.id")
+    Slice<RoomCatalogRow> findCompletedRoomsForUser(@Param("userId") Long userId, Pageable pageable);
+
     // Counts rooms a user has completed (challengesCompleted == room.totalChallenges AND room.totalChallenges > 0)
     @Query("SELECT COUNT(rm) FROM RoomMembership rm WHERE rm.user.id = :userId AND rm.room.totalChallenges > 0 AND rm.challengesCompleted = rm.room.totalChallenges")
     long countCompletedRoomsForUser(@Param("userId") Long userId);
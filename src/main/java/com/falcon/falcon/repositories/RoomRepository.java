@@ -1,18 +1,92 @@
 package com.falcon.falcon.repositories;
 
+import com.falcon.falcon.dtos.catalog.RoomCatalogCard;
+import com.falcon.falcon.dtos.catalog.RoomCatalogRow;
+import com.falcon.falcon.dtos.catalog.RoomCounterDrift;
+import com.falcon.falcon.dtos.catalog.RoomSearchDocument;
 import com.falcon.falcon.entities.Room;
 import com.falcon.falcon.enums.Complexity;
+import com.falcon.falcon.enums.InstanceStateEnum;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface RoomRepository extends JpaRepository<Room, Long>, RoomCatalogQueryRepository, RoomCounterRepository {
+    // the catalog reads only the head of the LONGTEXT description, enough to build the card excerpt
+    String DESCRIPTION_HEAD = "SUBSTRING(r.description, 1, " + RoomCatalogCard.DESCRIPTION_HEAD_LENGTH + ")";
+    String SELECT_CATALOG_CARD = "SELECT new com.falcon.falcon.dtos.catalog.RoomCatalogCard(" +
+            "r.id, r.amiId, r.title, " + DESCRIPTION_HEAD + ", r.complexity, r.imageURL, r.estimatedTime, r.totalChallenges, " +
+            "r.createdAt, r.totalRunningInstances, r.totalJoinedUsers) FROM Room r ";
 
-public interface RoomRepository extends JpaRepository<Room, Long> {
     @EntityGraph(attributePaths = {"challenges"})
     Optional<Room> findRoomWithChallengesById(Long id); // this fetches a room and all its challenges and returns an Optional with the room object with a list of fetched challenges
     boolean existsByAmiId(String amiId); // this checks if a room with the same amiId already exists
     // Optional<Room> findById(Long roomId); // Added findByRoomId method
 
     long countByComplexity(Complexity complexity);
+
+    /**
+     * Loads the whole catalog personalized for one user in a single round trip.
+     *
+     * Every room is LEFT JOINed with the membership row of the given user only (the ON clause
+     * restricts the join), so rooms the user never touched come back with null membership columns.
+     *
+     * SELECT r.<card columns>, SUBSTRING(r.description, 1, 201), rm.is_joined, rm.is_saved, rm.challenges_completed
+     * FROM room r
+     * LEFT JOIN room_membership rm ON rm.room_id = r.id AND rm.user_id = ?
+     * ORDER BY r.id;
+     *
+     * @param userId The ID of the user the catalog is built for
+     * @return one row per room carrying the room card data and the user's membership data
+     */
+    @Query("SELECT new com.falcon.falcon.dtos.catalog.RoomCatalogRow(" +
+           "r.id, r.amiId, r.title, " + DESCRIPTION_HEAD + ", r.complexity, r.imageURL, r.estimatedTime, r.totalChallenges, " +
+           "r.createdAt, r.totalRunningInstances, r.totalJoinedUsers, rm.isJoined, rm.isSaved, rm.challengesCompleted) " +
+           "FROM Room r LEFT JOIN r.memberships rm ON rm.user.id = :userId " +
+           "ORDER BY r.id")
+    List<RoomCatalogRow> findRoomCatalogForUser(@Param("userId") Long userId);
+
+    // card views of every room in id order, the description is cut in SQL so the LONGTEXT never leaves MySQL
+    @Query(SELECT_CATALOG_CARD + "ORDER BY r.id")
+    List<RoomCatalogCard> findAllCatalogCards();
+
+    @Query(SELECT_CATALOG_CARD + "WHERE r.id IN :ids ORDER BY r.id")
+    List<RoomCatalogCard> findCatalogCardsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams the card view of every room in id order instead of materializing a list.
+     * The fetch size of Integer.MIN_VALUE makes MySQL Connector/J stream the result set row by row,
+     * the rows are DTOs so nothing accumulates in the persistence context. Must be consumed in a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query(SELECT_CATALOG_CARD + "ORDER BY r.id")
+    Stream<RoomCatalogCard> streamAllCatalogCards();
+
+    // ids among the given ones that exist, without loading any room
+    @Query("SELECT r.id FROM Room r WHERE r.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // one GROUP BY over all rooms: the stored counter next to the real number of instances in the given state
+    @Query("SELECT new com.falcon.falcon.dtos.catalog.RoomCounterDrift(r.id, r.totalRunningInstances, COUNT(i)) " +
+           "FROM Room r LEFT JOIN r.instances i ON i.instanceState = :state " +
+           "GROUP BY r.id, r.totalRunningInstances")
+    List<RoomCounterDrift> countRunningInstancesPerRoom(@Param("state") InstanceStateEnum state);
+
+    // full text fallback of the search index (disabled or not built yet), the pattern is lowercased and escaped with '!'
+    @Query("SELECT r.id FROM Room r WHERE LOWER(r.title) LIKE :pattern ESCAPE '!' OR LOWER(r.description) LIKE :pattern ESCAPE '!'")
+    List<Long> findIdsByTextContaining(@Param("pattern") String pattern);
+
+    // reads only the searchable text of every room, used to build the in-memory search index
+    @Query("SELECT new com.falcon.falcon.dtos.catalog.RoomSearchDocument(r.id, r.title, r.description) FROM Room r ORDER BY r.id")
+    List<RoomSearchDocument> findAllSearchDocuments();
 }
@@ -3,7 +3,11 @@ package com.falcon.falcon.repositories;
 import com.falcon.falcon.entities.User;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -24,4 +28,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @EntityGraph(attributePaths = {"memberships", "memberships.room", "memberships.room.challenges"})
     Optional<User> findUserWithMembershipsAndRoomsAndChallengesById(Long id); // this fetches a user and all its memberships and rooms and challenges
+
+    // ids among the given ones that exist, without loading any user
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -1,8 +1,10 @@
 package com.falcon.falcon.security;
 
+import com.falcon.falcon.controllers.RoomEnrollmentController;
 import com.falcon.falcon.services.impl.CustomUserDetailsService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -93,6 +95,10 @@ public class SecurityConfig {
         
         corsConfiguration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         corsConfiguration.setAllowedHeaders(Arrays.asList("*"));
+        // lets the frontend read the keyset pagination cursor of the room catalog, the next completed rooms page
+        // and the wait of a rate limited flag submission (429)
+        corsConfiguration.setExposedHeaders(Arrays.asList(RoomEnrollmentController.NEXT_CURSOR_HEADER,
+                RoomEnrollmentController.NEXT_PAGE_HEADER, HttpHeaders.RETRY_AFTER));
         
         // CRITICAL: Enable credentials support
         corsConfiguration.setAllowCredentials(true);
@@ -0,0 +1,7 @@
+package com.falcon.falcon.services;
+
+// append-only history of flag submissions, buffered in memory and written in batches off the request
+public interface FlagSubmissionAttemptService {
+    void record(Long userId, Long challengeId, String submittedFlag, boolean isCorrect); // buffered once the current transaction commits
+    int flushPendingAttempts(); // writes the buffered attempts, one JDBC batch per flush batch, returns how many were written
+}
@@ -19,4 +19,12 @@ public interface FlagSubmissionService {
      * @param roomId ID of the room
      */
     void deleteSubmissionsForUserAndRoom(Long userId, Long roomId);
+
+    /**
+     * Recomputes the challenges completed counter of every room membership from the correct submissions
+     * and repairs the ones that drifted from the incremental updates
+     *
+     * @return the number of memberships repaired
+     */
+    int repairChallengeCompletionCounts();
 }
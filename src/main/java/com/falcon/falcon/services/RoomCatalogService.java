@@ -0,0 +1,18 @@
+package com.falcon.falcon.services;
+
+import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.dtos.RoomFilterCriteria.SortBy;
+import com.falcon.falcon.dtos.catalog.RoomCatalogSnapshot;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// shared catalog snapshot + per-user overlay
+public interface RoomCatalogService {
+    RoomCatalogSnapshot getSnapshot(); // the current user-agnostic snapshot, refreshed first if a room changed
+    List<RoomDTO> getRoomCatalogForUser(Long userId); // the snapshot with the user's membership data applied on copies
+    List<RoomDTO> getRoomCatalogForUser(Long userId, SortBy order); // same, walked in the pre-computed order of the sort key (then id)
+    List<RoomDTO> personalize(Long userId, List<RoomDTO> baseRooms); // applies the user's membership data on copies of some base rooms, same order
+    void forEachRoomForUser(Long userId, SortBy order, Consumer<RoomDTO> consumer); // same walk, rooms are handed over one by one, no list is built
+    void markRoomChanged(Long roomId); // the room will be reloaded into a new snapshot version on the next read
+}
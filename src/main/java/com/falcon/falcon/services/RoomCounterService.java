@@ -0,0 +1,11 @@
+package com.falcon.falcon.services;
+
+// write-behind aggregation of the room counters (joined users, running instances)
+public interface RoomCounterService {
+    void addJoinedUsers(Long roomId, int delta); // counted once the current transaction commits, written to the database by the next flush
+    long getPendingJoinedUsers(Long roomId); // committed delta not flushed yet, to add to the database value
+    void addRunningInstances(Long roomId, int delta); // same for the running instances of a room
+    long getPendingRunningInstances(Long roomId);
+    void flush(); // writes every pending delta with an atomic relative UPDATE
+    void reconcileRunningInstances(); // recounts the RUNNING instances of every room and corrects the drifted counters
+}
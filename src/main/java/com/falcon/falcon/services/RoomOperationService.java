@@ -2,35 +2,218 @@ package com.falcon.falcon.services;
 
 import com.falcon.falcon.dtos.RoomDTO;
 import com.falcon.falcon.dtos.RoomFilterCriteria;
-import com.falcon.falcon.operations.RoomOperation;
+import com.falcon.falcon.dtos.catalog.RoomCatalogFacets;
+import com.falcon.falcon.enums.Complexity;
+import com.falcon.falcon.dtos.catalog.RoomCatalogSnapshot;
+import com.falcon.falcon.operations.cache.LruCache;
 import com.falcon.falcon.operations.composites.AndFilter;
 import com.falcon.falcon.operations.composites.FilterThenSortComposite;
 import com.falcon.falcon.operations.composites.SorterChain;
+import com.falcon.falcon.operations.filters.CompletionFilter;
+import com.falcon.falcon.operations.filters.CompletionFilter.CompletionStatus;
+import com.falcon.falcon.operations.filters.EnrollmentFilter;
+import com.falcon.falcon.operations.filters.EnrollmentFilter.EnrollmentStatus;
 import com.falcon.falcon.operations.filters.FilterStrategy;
+import com.falcon.falcon.operations.search.RoomTrigramIndex;
 import com.falcon.falcon.operations.sorters.SortStrategy;
 import com.falcon.falcon.enums.FilterType;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 
+/**
+ * Builds and applies the filter/sort operations of a RoomFilterCriteria.
+ *
+ * Two bounded LRU caches avoid repeating work between requests:
+ * - compiled operations: the composite built for a criteria, keyed by the criteria fingerprint (normalized values).
+ *   A compiled operation is never modified after it is built, so it is shared by concurrent requests.
+ * - snapshot results: for criteria that do not depend on the user (no enrollment/completion filter), the filtered
+ *   and sorted base rooms of a catalog snapshot version (and search index version), personalized afterwards.
+ */
 @Service
 public class RoomOperationService {
     private final Map<RoomFilterCriteria.SortBy, SortStrategy> sortingStrategies;
     private final Map<FilterType, Function<RoomFilterCriteria, FilterStrategy>> filterStrategies;
+    private final RoomTrigramIndex searchIndex;
+    private final LruCache<String, FilterThenSortComposite> compiledOperations;
+    private final LruCache<String, SnapshotResult> snapshotResults;
 
-    public RoomOperationService(Map<RoomFilterCriteria.SortBy, SortStrategy> sortingStrategies, Map<FilterType, Function<RoomFilterCriteria, FilterStrategy>> filterStrategies) {
+    public RoomOperationService(Map<RoomFilterCriteria.SortBy, SortStrategy> sortingStrategies,
+                                Map<FilterType, Function<RoomFilterCriteria, FilterStrategy>> filterStrategies,
+                                RoomTrigramIndex searchIndex,
+                                @Value("${rooms.operations.cache.size:256}") int operationsCacheSize,
+                                @Value("${rooms.operations.results.cache.size:64}") int resultsCacheSize) {
         this.sortingStrategies = sortingStrategies;
         this.filterStrategies = filterStrategies;
+        this.searchIndex = searchIndex;
+        this.compiledOperations = new LruCache<>(operationsCacheSize);
+        this.snapshotResults = new LruCache<>(resultsCacheSize);
     }
 
     public List<RoomDTO> applyFiltersAndSorting(List<RoomDTO> rooms, RoomFilterCriteria criteria) {
+        return compile(criteria).apply(rooms);
+    }
+
+    // the cached composite of the criteria, built on the first request with this fingerprint
+    public FilterThenSortComposite compile(RoomFilterCriteria criteria) {
+        return compiledOperations.computeIfAbsent(fingerprint(criteria), key -> build(criteria));
+    }
+
+    /**
+     * Filtered and sorted base rooms of a snapshot for a user independent criteria (see isUserIndependent).
+     * The result is computed once per snapshot version and search index version, then served from memory
+     * until a room changes. The returned list is immutable and holds the shared base DTOs.
+     */
+    public List<RoomDTO> applyToSnapshot(RoomCatalogSnapshot snapshot, RoomFilterCriteria criteria) {
+        String key = fingerprint(criteria);
+        long indexVersion = searchIndex.getVersion();
+        SnapshotResult cached = snapshotResults.get(key);
+        if (cached != null && cached.snapshotVersion == snapshot.getVersion() && cached.indexVersion == indexVersion) {
+            return cached.rooms;
+        }
+
+        List<RoomDTO> rooms = isPreOrderedSort(criteria)
+                ? applyFiltersInOrder(snapshot.getRooms(criteria.getSortBy()), criteria)
+                : applyFiltersAndSorting(snapshot.getRooms(), criteria);
+        SnapshotResult computed = new SnapshotResult(snapshot.getVersion(), indexVersion, List.copyOf(rooms));
+        snapshotResults.put(key, computed);
+        return computed.rooms;
+    }
+
+    // true when the result only depends on room columns, the same for every user before personalization
+    public boolean isUserIndependent(RoomFilterCriteria criteria) {
+        return (criteria.getEnrollmentStatus() == null || criteria.getEnrollmentStatus() == EnrollmentStatus.ALL)
+                && (criteria.getCompletionStatus() == null || criteria.getCompletionStatus() == CompletionStatus.ALL);
+    }
+
+    // normalized criteria: equivalent criteria (ALL vs absent, case and blanks of the term, repeated sort keys) share a key
+    private String fingerprint(RoomFilterCriteria criteria) {
+        String searchTerm = criteria.getSearchTerm() != null ? criteria.getSearchTerm().toLowerCase().trim() : "";
+        StringBuilder key = new StringBuilder()
+                .append("complexity=").append(criteria.getComplexity() != null ? criteria.getComplexity() : "")
+                .append("|enrollment=").append(criteria.getEnrollmentStatus() != null && criteria.getEnrollmentStatus() != EnrollmentStatus.ALL ? criteria.getEnrollmentStatus() : "")
+                .append("|completion=").append(criteria.getCompletionStatus() != null && criteria.getCompletionStatus() != CompletionStatus.ALL ? criteria.getCompletionStatus() : "")
+                .append("|search=").append(searchTerm.length()).append(':').append(searchTerm)
+                .append("|sort=");
+        for (RoomFilterCriteria.SortBy sortBy : sortKeys(criteria)) {
+            key.append(sortBy).append(',');
+        }
+        key.append("|limit=").append(criteria.getLimit() != null ? Math.max(0, criteria.getLimit()) : "");
+        return key.toString();
+    }
+
+    // primary key then tie-breaking keys, without nulls and repetitions (a repeated key cannot break a tie)
+    private Set<RoomFilterCriteria.SortBy> sortKeys(RoomFilterCriteria criteria) {
+        Set<RoomFilterCriteria.SortBy> keys = new LinkedHashSet<>();
+        if (criteria.getSortBy() != null) {
+            keys.add(criteria.getSortBy());
+        }
+        if (criteria.getThenBy() != null) {
+            criteria.getThenBy().stream().filter(Objects::nonNull).forEach(keys::add);
+        }
+        return keys;
+    }
+
+    private FilterThenSortComposite build(RoomFilterCriteria criteria) {
 
         // Build the filter chain
+        AndFilter filterChain = buildFilterChain(criteria);
+
+        // Build the sorter chain (primary key first, then the tie-breaking keys), it is applied as one composed comparator
+        SorterChain sorterChain = new SorterChain();
+
+        for (RoomFilterCriteria.SortBy sortBy : sortKeys(criteria)) {
+            SortStrategy sorter = sortingStrategies.get(sortBy);
+            if (sorter != null) {
+                sorterChain.add(sorter);
+            }
+        }
+
+        // Create the main composite operation
+        return new FilterThenSortComposite(filterChain, sorterChain, criteria.getLimit());
+    }
+
+    // true when rooms already in the order of the primary sort key (see RoomCatalogSnapshot) need no sorting
+    public boolean isPreOrderedSort(RoomFilterCriteria criteria) {
+        return criteria.getThenBy() == null || criteria.getThenBy().isEmpty();
+    }
+
+    /**
+     * Filters rooms that are already in the requested order: a single walk that keeps the order
+     * and stops as soon as `limit` rooms matched, no sort and no top-K selection.
+     */
+    public List<RoomDTO> applyFiltersInOrder(List<RoomDTO> orderedRooms, RoomFilterCriteria criteria) {
+        FilterStrategy filterChain = compile(criteria).getFilterStrategy();
+        int limit = criteria.getLimit() != null ? Math.max(0, criteria.getLimit()) : Integer.MAX_VALUE;
+
+        List<RoomDTO> result = new ArrayList<>(Math.min(limit, orderedRooms.size()));
+        for (RoomDTO room : orderedRooms) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (filterChain.test(room)) {
+                result.add(room);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the rooms matching the search term per complexity, enrollment status and completion status.
+     * One pass over the rooms: the search predicate is tested once per room and the room is added to one bucket of each facet.
+     */
+    public RoomCatalogFacets countFacets(List<RoomDTO> rooms, String searchTerm) {
+        RoomFilterCriteria searchCriteria = new RoomFilterCriteria();
+        searchCriteria.setSearchTerm(searchTerm);
+        FilterStrategy search = filterStrategies.get(FilterType.SEARCH_TERM).apply(searchCriteria); // null without a search term
+
+        Map<Complexity, Long> complexity = new EnumMap<>(Complexity.class);
+        Map<EnrollmentStatus, Long> enrollment = new EnumMap<>(EnrollmentStatus.class);
+        Map<CompletionStatus, Long> completion = new EnumMap<>(CompletionStatus.class);
+        for (Complexity value : Complexity.values()) {
+            complexity.put(value, 0L);
+        }
+        enrollment.put(EnrollmentStatus.ENROLLED, 0L);
+        enrollment.put(EnrollmentStatus.NOT_ENROLLED, 0L);
+        completion.put(CompletionStatus.COMPLETED, 0L);
+        completion.put(CompletionStatus.IN_PROGRESS, 0L);
+        completion.put(CompletionStatus.NOT_STARTED, 0L);
+
+        long total = 0;
+        for (RoomDTO room : rooms) {
+            if (search != null && !search.test(room)) {
+                continue;
+            }
+            total++;
+            if (room.getComplexity() != null) {
+                complexity.merge(room.getComplexity(), 1L, Long::sum);
+            }
+            enrollment.merge(EnrollmentFilter.statusOf(room), 1L, Long::sum);
+            CompletionStatus completionStatus = CompletionFilter.statusOf(room);
+            if (completionStatus != null) { // counted in no bucket, like the filters that match none
+                completion.merge(completionStatus, 1L, Long::sum);
+            }
+        }
+        return new RoomCatalogFacets(total, complexity, enrollment, completion);
+    }
+
+    // the fused filter predicate of the criteria, for callers that walk the rooms themselves
+    public FilterStrategy buildFilter(RoomFilterCriteria criteria) {
+        return compile(criteria).getFilterStrategy();
+    }
+
+    private AndFilter buildFilterChain(RoomFilterCriteria criteria) {
         AndFilter filterChain = new AndFilter();
-               
+
         // we iterate over the filter strategy lambda functions and pass the criteria to them to retrieve the configured FilterStrategies
         for (Function<RoomFilterCriteria, FilterStrategy> strategyFunction : filterStrategies.values()) {
             FilterStrategy filter = strategyFunction.apply(criteria);
@@ -38,21 +221,19 @@ public class RoomOperationService {
                 filterChain.add(filter); // we add the filter to the chain if it's not null
             }
         }
+        return filterChain;
+    }
 
-        // Build the sorter chain
-        SorterChain sorterChain = new SorterChain();
+    // a memoized snapshot result and the versions it was computed from
+    private static final class SnapshotResult {
+        private final long snapshotVersion;
+        private final long indexVersion;
+        private final List<RoomDTO> rooms;
 
-        if (criteria.getSortBy() != null) {
-            SortStrategy sorter = sortingStrategies.get(criteria.getSortBy());
-            if (sorter != null) {
-                sorterChain.add(sorter);
-            }
+        private SnapshotResult(long snapshotVersion, long indexVersion, List<RoomDTO> rooms) {
+            this.snapshotVersion = snapshotVersion;
+            this.indexVersion = indexVersion;
+            this.rooms = rooms;
         }
-
-        // Create the main composite operation
-        RoomOperation operation = new FilterThenSortComposite(filterChain, sorterChain);
-
-        // Apply the operation
-        return operation.apply(rooms);
     }
-}
\ No newline at end of file
+}
@@ -5,11 +5,13 @@ import com.falcon.falcon.exceptions.roomExceptions.RoomAlreadySavedException;
 import com.falcon.falcon.exceptions.roomExceptions.RoomNotFoundException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 // Room management
 public interface RoomService {
     
     List<RoomDTO> getAllRooms(); // fetch all rooms
+    void forEachRoom(Consumer<RoomDTO> consumer); // stream all rooms from the database one by one, without building a list
     RoomDTO getRoomById(Long id) throws RoomNotFoundException; // get room related data
     RoomDTO createRoom(RoomDTO roomDTO) throws RoomAlreadySavedException;
     public void incrementJoinedUsers(Long roomId) throws RoomNotFoundException;
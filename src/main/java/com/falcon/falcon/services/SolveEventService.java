@@ -0,0 +1,10 @@
+package com.falcon.falcon.services;
+
+import com.falcon.falcon.dtos.statistics.SolveEventQueueStatsDTO;
+
+// asynchronous pipeline of solved challenges: room progress and completion dates are applied in batches off the request
+public interface SolveEventService {
+    void publish(Long userId, Long roomId, Long challengeId); // queued once the current transaction commits
+    void processPendingEvents(); // drains the queue in batches, one transaction per batch
+    SolveEventQueueStatsDTO getQueueStatistics(); // depth, lag and throughput of the queue
+}
@@ -2,8 +2,12 @@ package com.falcon.falcon.services;
 
 import com.falcon.falcon.dtos.statistics.GlobalRoomStatsDTO;
 import com.falcon.falcon.dtos.statistics.ProfileStatisticsDTO;
+import com.falcon.falcon.dtos.statistics.SecondLevelCacheStatsDTO;
+import com.falcon.falcon.dtos.statistics.SolveEventQueueStatsDTO;
 
 public interface StatisticsService {
     ProfileStatisticsDTO getProfileStatistics(Long userId);
     GlobalRoomStatsDTO getGlobalRoomStatistics(Long userId);
+    SecondLevelCacheStatsDTO getSecondLevelCacheStatistics(); // Hibernate second-level cache hits/misses since startup
+    SolveEventQueueStatsDTO getSolveEventQueueStatistics(); // depth and lag of the asynchronous solve event queue
 }
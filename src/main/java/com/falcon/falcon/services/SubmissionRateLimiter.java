@@ -0,0 +1,8 @@
+package com.falcon.falcon.services;
+
+import com.falcon.falcon.exceptions.challengeExceptions.SubmissionRateLimitExceededException;
+
+// throttles flag submissions per user and per (user, challenge), before any database access
+public interface SubmissionRateLimiter {
+    void checkSubmission(Long userId, Long challengeId) throws SubmissionRateLimitExceededException;
+}
@@ -1,12 +1,20 @@
 package com.falcon.falcon.services;
 
 import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.dtos.RoomFilterCriteria;
+import com.falcon.falcon.dtos.catalog.CursorPage;
+import com.falcon.falcon.dtos.enrollment.BulkEnrollmentRequest;
+import com.falcon.falcon.dtos.enrollment.BulkEnrollmentResult;
+import com.falcon.falcon.exceptions.membershipExceptions.InvalidBulkEnrollmentException;
 import com.falcon.falcon.exceptions.membershipExceptions.RoomMembershipNotFoundException;
 import com.falcon.falcon.exceptions.roomExceptions.RoomNotFoundException;
 import com.falcon.falcon.exceptions.userExceptions.UserNotFoundException;
 
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 // User-room relationship management
 public interface UserRoomService {
@@ -15,10 +23,14 @@ public interface UserRoomService {
     void saveRoom(Long userId, Long roomId) throws UserNotFoundException, RoomNotFoundException; // if the room is already joined we will set isSaved to true and not create the membership.
     void unSaveRoom(Long userId, Long roomId) throws RoomMembershipNotFoundException; // if the room is already joined we will set isSaved to false and not create the membership.
     void leaveRoom(Long userId, Long roomId) throws RoomMembershipNotFoundException; // if the room is already joined we will set leftAt to the existing room membership
+    BulkEnrollmentResult bulkEnroll(BulkEnrollmentRequest request) throws InvalidBulkEnrollmentException, UserNotFoundException, RoomNotFoundException; // one action over many (user, room) pairs, JDBC batches and one counter update per room
     // Room retrieval operations
+    List<RoomDTO> getRoomCatalog(Long userId); // all rooms enriched with the user's membership data, in one query
+    CursorPage<RoomDTO> getRoomCatalogPage(Long userId, RoomFilterCriteria criteria); // filtered, sorted and paginated by the database
+    void forEachRoomOfCatalog(Long userId, RoomFilterCriteria criteria, Consumer<RoomDTO> consumer); // same query, rows streamed one by one
     List<RoomDTO> getJoinedRooms(Long userId) throws UserNotFoundException; // we use the memberships
     List<RoomDTO> getSavedRooms(Long userId) throws UserNotFoundException; // we use the memberships
-    List<RoomDTO> getCompletedRooms(Long userId) throws UserNotFoundException; // this requires knowing if a room is completed or not
+    Slice<RoomDTO> getCompletedRooms(Long userId, int page, int size) throws UserNotFoundException; // one page of completed rooms, filtered by the database
     RoomDTO getJoinedRoom(Long userId, Long roomId) throws UserNotFoundException, RoomNotFoundException; // we use the memberships
 
     Map<String, Boolean> getRoomMembershipStatus(long userId, long roomId); ;
@@ -0,0 +1,96 @@
+package com.falcon.falcon.services.impl;
+
+import com.falcon.falcon.entities.FlagSubmissionAttempt;
+import com.falcon.falcon.repositories.FlagSubmissionAttemptRepository;
+import com.falcon.falcon.services.FlagSubmissionAttemptService;
+import com.falcon.falcon.services.support.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Write-behind buffer of the submission attempt log.
+ *
+ * A submission only adds its attempt to a bounded in-memory queue (after its transaction commits, so replayed or
+ * rolled back submissions are not logged). Every challenges.attempts.flush-interval-ms, and at shutdown, the queue is
+ * drained into JDBC batches of challenges.attempts.batch-size inserts, one transaction per batch.
+ * A full queue makes the request write its own attempt (back-pressure instead of loss).
+ * The log is history only: a batch that cannot be written is logged and dropped, no progress depends on it.
+ */
+@Service
+public class FlagSubmissionAttemptServiceImpl implements FlagSubmissionAttemptService {
+    private static final Logger logger = LoggerFactory.getLogger(FlagSubmissionAttemptServiceImpl.class);
+
+    private final FlagSubmissionAttemptRepository flagSubmissionAttemptRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<FlagSubmissionAttempt> queue;
+    private final int capacity;
+    private final int batchSize;
+
+    public FlagSubmissionAttemptServiceImpl(FlagSubmissionAttemptRepository flagSubmissionAttemptRepository,
+                                            PlatformTransactionManager transactionManager,
+                                            @Value("${challenges.attempts.buffer-capacity:20000}") int capacity,
+                                            @Value("${challenges.attempts.batch-size:1000}") int batchSize) {
+        this.flagSubmissionAttemptRepository = flagSubmissionAttemptRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // the inline write runs in an afterCommit callback, where the committed transaction is still the current one:
+        // joining it would insert on a connection that is never committed again
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public void record(Long userId, Long challengeId, String submittedFlag, boolean isCorrect) {
+        FlagSubmissionAttempt attempt = new FlagSubmissionAttempt(null, userId, challengeId, submittedFlag, isCorrect, new Date());
+        TransactionCallbacks.afterCommit(() -> {
+            if (!queue.offer(attempt)) {
+                logger.warn("Submission attempt buffer full ({} attempts), writing the attempt of user {} inline", capacity, userId);
+                write(List.of(attempt));
+            }
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${challenges.attempts.flush-interval-ms:1000}")
+    public synchronized int flushPendingAttempts() {
+        int written = 0;
+        List<FlagSubmissionAttempt> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            if (write(batch)) {
+                written += batch.size();
+            }
+            batch.clear();
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int written = flushPendingAttempts();
+        logger.info("Flushed {} buffered submission attempts at shutdown", written);
+    }
+
+    private boolean write(List<FlagSubmissionAttempt> attempts) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> flagSubmissionAttemptRepository.batchInsert(attempts));
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Writing {} submission attempts failed, they are dropped from the attempt log", attempts.size(), e);
+            return false;
+        }
+    }
+}
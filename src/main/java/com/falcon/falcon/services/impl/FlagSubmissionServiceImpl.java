@@ -1,17 +1,25 @@
 package com.falcon.falcon.services.impl;
 
-import com.falcon.falcon.entities.Challenge;
-import com.falcon.falcon.entities.FlagSubmission;
+import com.falcon.falcon.dtos.challenge.FlagSubmissionState;
 import com.falcon.falcon.entities.RoomMembership;
-import com.falcon.falcon.entities.User;
 import com.falcon.falcon.exceptions.challengeExceptions.ChallengeNotFoundException;
 import com.falcon.falcon.exceptions.userExceptions.UserNotFoundException;
 import com.falcon.falcon.repositories.ChallengeRepository;
 import com.falcon.falcon.repositories.FlagSubmissionRepository;
 import com.falcon.falcon.repositories.RoomMembershipRepository;
 import com.falcon.falcon.repositories.UserRepository;
+import com.falcon.falcon.services.FlagSubmissionAttemptService;
 import com.falcon.falcon.services.FlagSubmissionService;
+import com.falcon.falcon.services.SolveEventService;
+import com.falcon.falcon.services.support.FlagVerifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Date;
 import java.util.Optional;
@@ -19,76 +27,98 @@ import java.util.Set;
 
 @Service
 public class FlagSubmissionServiceImpl implements FlagSubmissionService {
+    private static final Logger logger = LoggerFactory.getLogger(FlagSubmissionServiceImpl.class);
 
     private final ChallengeRepository challengeRepository;
     private final UserRepository userRepository;
     private final FlagSubmissionRepository flagSubmissionRepository;
     private final RoomMembershipRepository roomMembershipRepository;
+    private final FlagVerifier flagVerifier;
+    private final SolveEventService solveEventService;
+    private final FlagSubmissionAttemptService flagSubmissionAttemptService;
+    private final TransactionTemplate transactionTemplate;
+    private final int repairChunkSize;
 
     public FlagSubmissionServiceImpl(ChallengeRepository challengeRepository,
                                      UserRepository userRepository,
                                      FlagSubmissionRepository flagSubmissionRepository,
-                                     RoomMembershipRepository roomMembershipRepository) {
+                                     RoomMembershipRepository roomMembershipRepository,
+                                     FlagVerifier flagVerifier,
+                                     SolveEventService solveEventService,
+                                     FlagSubmissionAttemptService flagSubmissionAttemptService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${challenges.progress.repair-chunk-size:1000}") int repairChunkSize) {
         this.challengeRepository = challengeRepository;
         this.userRepository = userRepository;
         this.flagSubmissionRepository = flagSubmissionRepository;
         this.roomMembershipRepository = roomMembershipRepository;
+        this.flagVerifier = flagVerifier;
+        this.solveEventService = solveEventService;
+        this.flagSubmissionAttemptService = flagSubmissionAttemptService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repairChunkSize = Math.max(1, repairChunkSize);
     }
 
+    /*
+     * Flag submission, the hottest write path during CTF events.
+     * 1. FlagVerifier checks the flag against the cached digest and gives the challenge's room (no Challenge entity loaded)
+     * 2. The attempt is appended to the attempt log (FlagSubmissionAttemptService, buffered and batch inserted off the request)
+     * 3. The user's existing submission is read as (id, isCorrect) only
+     * 4. A wrong attempt stops there: FlagSubmission only holds the solved state, it is never rewritten per wrong guess
+     * 5. A correct one marks the existing row solved with a single UPDATE, or inserts a new one with a single
+     *    INSERT ... ON DUPLICATE KEY on the (user, challenge) unique key, no User/Challenge select
+     * 6. A solve event is published only when this request turned the challenge from unsolved to solved,
+     *    the room progress and completion date are updated asynchronously (SolveEventService)
+     * An unknown user or challenge surfaces as a foreign key violation on insert (or an id probe for a wrong first attempt),
+     * the ids are probed to report it as UserNotFoundException or ChallengeNotFoundException.
+     */
     @Override
     public boolean processSubmission(Long userId, Long challengeId, String submittedFlag) {
-        // Validate user and challenge exist
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+        FlagVerifier.Verification verification = flagVerifier.verify(challengeId, submittedFlag);
+        boolean isCorrect = verification.isCorrect();
+        flagSubmissionAttemptService.record(userId, challengeId, submittedFlag, isCorrect);
 
-        Challenge challenge = challengeRepository.findById(challengeId)
-                .orElseThrow(() -> new ChallengeNotFoundException("Challenge not found with ID: " + challengeId));
-
-        // Check if user has already correctly submitted this challenge
-        Optional<FlagSubmission> existingSubmission = flagSubmissionRepository
-                .findByUserIdAndChallengeId(userId, challengeId);
-
-        // Check if the submitted flag is correct
-        boolean isCorrect = challenge.getFlag().equals(submittedFlag);
+        // Check if user has already submitted a flag for this challenge
+        Optional<FlagSubmissionState> existingSubmission = flagSubmissionRepository
+                .findStateByUserIdAndChallengeId(userId, challengeId);
 
         if (existingSubmission.isPresent()) {
-            // Update existing submission
-            FlagSubmission submission = existingSubmission.get();
+            FlagSubmissionState submission = existingSubmission.get();
 
-            // If already correct, return true without changing (this case will likely never happen)
-            if (submission.getIsCorrect()) {
+            // If already correct, return true without changing
+            if (Boolean.TRUE.equals(submission.getIsCorrect())) {
                 return true;
             }
 
-            // if the user has already submitted a false flag
-
-            // we update the submission
-            submission.setSubmittedFlag(submittedFlag);
-
             if (isCorrect) {
-                // Update from incorrect to correct
-                submission.setIsCorrect(true);
-                submission.setSubmissionDate(new Date());
-
-                // Update challenge completion count in room membership
-                updateChallengeCompletionCount(userId, challenge.getRoom().getId());
+                // from incorrect to correct, a concurrent request that got there first makes this one a no-op (no double count)
+                if (flagSubmissionRepository.markCorrect(submission.getId(), submittedFlag, new Date()) > 0) {
+                    publishSolve(userId, verification.getRoomId(), challengeId);
+                }
+            }
+        } else if (!isCorrect) {
+            // nothing to store besides the attempt, only make sure the user exists (primary key probe)
+            if (!userRepository.existsById(userId)) {
+                throw new UserNotFoundException("User not found with ID: " + userId);
+            }
+        } else { // first correct submission of the user for this challenge
+            int inserted;
+            try {
+                inserted = flagSubmissionRepository.insertSolved(userId, challengeId, submittedFlag, new Date());
+            } catch (DataIntegrityViolationException e) {
+                // the challenge can be deleted while its flag is still cached (challenges.flags.cache-ttl-ms)
+                if (!userRepository.existsById(userId)) {
+                    throw new UserNotFoundException("User not found with ID: " + userId);
+                }
+                if (!challengeRepository.existsById(challengeId)) {
+                    throw new ChallengeNotFoundException("Challenge not found with ID: " + challengeId);
+                }
+                throw e;
             }
 
-            flagSubmissionRepository.save(submission);
-        } else { // if the user never tried to submit a flag before
-            // Create new submission
-            FlagSubmission newSubmission = new FlagSubmission();
-            newSubmission.setUser(user);
-            newSubmission.setChallenge(challenge);
-            newSubmission.setSubmittedFlag(submittedFlag);
-            newSubmission.setIsCorrect(isCorrect);
-            newSubmission.setSubmissionDate(new Date());
-
-            flagSubmissionRepository.save(newSubmission);
-
-            if (isCorrect) {
-                // Update challenge completion count in room membership
-                updateChallengeCompletionCount(userId, challenge.getRoom().getId());
+            // 0: a concurrent submission of the same user (double click, second tab) solved it and published the solve
+            if (inserted > 0) {
+                publishSolve(userId, verification.getRoomId(), challengeId);
             }
         }
 
@@ -111,25 +141,43 @@ public class FlagSubmissionServiceImpl implements FlagSubmissionService {
 
             membership.ifPresent(rm -> {
                 rm.setChallengesCompleted(0);
+                rm.setCompletedAt(null);
                 roomMembershipRepository.save(rm);
             });
         }
     }
 
-    private void updateChallengeCompletionCount(Long userId, Long roomId) {
-        // Find room membership
-        Optional<RoomMembership> membership = roomMembershipRepository
-                .findByRoomIdAndUserId(roomId, userId);
-
-        membership.ifPresent(rm -> {
-            // Count total completed challenges
-            long completedChallenges = flagSubmissionRepository
-                    .findCompletedChallengeIdsByUserIdAndRoomId(userId, roomId)
-                    .size();
-
-            // Update the count
-            rm.setChallengesCompleted((int) completedChallenges);
-            roomMembershipRepository.save(rm);
-        });
+    // called only on the incorrect -> correct transition: the room progress is applied by the solve event consumer, off the request
+    private void publishSolve(Long userId, Long roomId, Long challengeId) {
+        solveEventService.publish(userId, roomId, challengeId);
+    }
+
+    /*
+     * Background verifier of the incremental counters: recomputes the memberships' challengesCompleted from the
+     * correct submissions and rewrites the ones that drifted (lost solve events, manual changes), then aligns the
+     * completion dates with the repaired counters.
+     * The memberships are walked in primary key ranges of challenges.progress.repair-chunk-size, one short transaction
+     * per range, so joins and submissions only wait for the rows of the chunk being repaired.
+     */
+    @Override
+    @Scheduled(initialDelayString = "${challenges.progress.repair-interval-ms:600000}",
+               fixedDelayString = "${challenges.progress.repair-interval-ms:600000}")
+    public int repairChallengeCompletionCounts() {
+        long maxId = roomMembershipRepository.findMaxId();
+        int repaired = 0;
+        for (long afterId = 0; afterId < maxId; afterId += repairChunkSize) {
+            long lastId = Math.min(afterId + repairChunkSize, maxId);
+            long from = afterId;
+            Integer chunk = transactionTemplate.execute(status -> {
+                int counters = roomMembershipRepository.repairChallengesCompleted(from, lastId);
+                int completionDates = roomMembershipRepository.repairCompletedAt(from, lastId);
+                return counters + completionDates;
+            });
+            repaired += chunk != null ? chunk : 0;
+        }
+        if (repaired > 0) {
+            logger.warn("Repaired {} challenges completed counters / completion dates of room memberships", repaired);
+        }
+        return repaired;
     }
 }
@@ -18,6 +18,7 @@ import com.falcon.falcon.repositories.RoomRepository;
 import com.falcon.falcon.repositories.UserRepository;
 import com.falcon.falcon.services.CloudInstanceService;
 import com.falcon.falcon.services.InstanceService;
+import com.falcon.falcon.services.RoomCounterService;
 import com.falcon.falcon.services.websocket.InstanceWebSocketService;
 import com.falcon.falcon.dtos.websocket.InstanceOperationUpdate;
 import com.falcon.falcon.statePattern.InstanceState;
@@ -50,19 +51,22 @@ public class InstanceServiceImp implements InstanceService {
     private final UserRepository userRepository;
     private final RoomRepository roomRepository;
     private final InstanceWebSocketService webSocketService; // to send real-time updates
+    private final RoomCounterService roomCounterService; // keeps room.totalRunningInstances in line with the transitions
 
     public InstanceServiceImp(InstanceRepository instanceRepository,
             Map<InstanceStateEnum, InstanceState> stateMap,
             CloudInstanceService cloudInstanceService,
             UserRepository userRepository,
             RoomRepository roomRepository,
-            InstanceWebSocketService webSocketService) {
+            InstanceWebSocketService webSocketService,
+            RoomCounterService roomCounterService) {
         this.instanceRepository = instanceRepository;
         this.stateMap = stateMap;
         this.cloudInstanceService = cloudInstanceService;
         this.userRepository = userRepository;
         this.roomRepository = roomRepository;
         this.webSocketService = webSocketService;
+        this.roomCounterService = roomCounterService;
     }
 
     // this method is used to create a new instance in the DB and provision it on
@@ -156,6 +160,7 @@ public class InstanceServiceImp implements InstanceService {
                         savedInstance.setIpAddress(createResponse.getPrivateIpAddress());
                         savedInstance.setInstanceState(InstanceStateEnum.RUNNING);
                         Instance fullyProvisionedInstance = instanceRepository.save(savedInstance);
+                        countTransition(roomId, InstanceStateEnum.NOT_STARTED, InstanceStateEnum.RUNNING);
                         logger.info("Instance ID {} (Cloud ID {}) successfully transitioned to {} state in DB.",
                                 fullyProvisionedInstance.getId(), fullyProvisionedInstance.getInstanceId(),
                                 fullyProvisionedInstance.getInstanceState());
@@ -216,6 +221,15 @@ public class InstanceServiceImp implements InstanceService {
         return currentState;
     }
 
+    // a room counts its RUNNING instances: +1 when an instance enters RUNNING, -1 when it leaves it
+    // (the scheduled reconciliation in RoomCounterService repairs whatever these deltas miss)
+    private void countTransition(Long roomId, InstanceStateEnum from, InstanceStateEnum to) {
+        int delta = (to == InstanceStateEnum.RUNNING ? 1 : 0) - (from == InstanceStateEnum.RUNNING ? 1 : 0);
+        if (delta != 0) {
+            roomCounterService.addRunningInstances(roomId, delta);
+        }
+    }
+
     // we have three actions to perform on the created instances
     // 1. startInstance: this method is used to start an instance that is already
     // created and provisioned on the cloud provider
@@ -246,12 +260,14 @@ public class InstanceServiceImp implements InstanceService {
                 InstanceOperationUpdate.requesting(operationId,  internalInstanceId.toString())
         );
 
+        InstanceStateEnum previousState = instance.getInstanceState();
         return currentState.startInstance(instance, cloudInstanceService, userId, operationId)
                 .thenApply(actionResponse -> {
 
                     instance.setInstanceState(InstanceStateEnum.RUNNING);
 
                     instanceRepository.save(instance);
+                    countTransition(instance.getRoom().getId(), previousState, InstanceStateEnum.RUNNING);
 
                     logger.info("Instance ID {} (Cloud ID {}) successfully started and transitioned to {} state.", internalInstanceId, instance.getInstanceId(), instance.getInstanceState());
 
@@ -284,11 +300,13 @@ public class InstanceServiceImp implements InstanceService {
         logger.info("Attempting to stop instance ID {} (Cloud ID {}) from state {}. Operation ID: {}",
                 internalInstanceId, instance.getInstanceId(), instance.getInstanceState(), operationId);
 
+        InstanceStateEnum previousState = instance.getInstanceState();
         return currentState.stopInstance(instance, cloudInstanceService, userId, operationId)
                 .thenApply(actionResponse -> {
 
                     instance.setInstanceState(InstanceStateEnum.PAUSED);
                     instanceRepository.save(instance);
+                    countTransition(instance.getRoom().getId(), previousState, InstanceStateEnum.PAUSED);
 
                     logger.info("Instance ID {} (Cloud ID {}) successfully stopped and transitioned to {} state.",
                             internalInstanceId, instance.getInstanceId(), instance.getInstanceState());
@@ -317,6 +335,7 @@ public class InstanceServiceImp implements InstanceService {
         logger.info("Attempting to terminate instance ID {} (Cloud ID {}) from state {}. Operation ID: {}",
                 internalInstanceId, instance.getInstanceId(), instance.getInstanceState(), operationId);
 
+        InstanceStateEnum previousState = instance.getInstanceState();
         return currentState.terminateInstance(instance, cloudInstanceService, userId, operationId)
                 .thenApply(actionResponse -> {
                     // DELETE the instance from database instead of just updating state
@@ -325,6 +344,7 @@ public class InstanceServiceImp implements InstanceService {
                     
                     // Delete the instance record from database
                     instanceRepository.delete(instance);
+                    countTransition(instance.getRoom().getId(), previousState, InstanceStateEnum.TERMINATED);
                     
                     logger.info("Instance ID {} (Cloud ID {}) successfully deleted from database.",
                             internalInstanceId, instance.getInstanceId());
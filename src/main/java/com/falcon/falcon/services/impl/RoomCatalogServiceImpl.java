@@ -0,0 +1,177 @@
+package com.falcon.falcon.services.impl;
+
+import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.dtos.RoomFilterCriteria.SortBy;
+import com.falcon.falcon.dtos.catalog.MembershipOverlay;
+import com.falcon.falcon.dtos.catalog.RoomCatalogCard;
+import com.falcon.falcon.dtos.catalog.RoomCatalogSnapshot;
+import com.falcon.falcon.exceptions.userExceptions.UserNotFoundException;
+import com.falcon.falcon.mappers.RoomMapper;
+import com.falcon.falcon.operations.sorters.SortStrategy;
+import com.falcon.falcon.repositories.RoomMembershipRepository;
+import com.falcon.falcon.repositories.RoomRepository;
+import com.falcon.falcon.repositories.UserRepository;
+import com.falcon.falcon.services.RoomCatalogService;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one immutable snapshot of the base catalog for all users.
+ * Rooms are read as card projections (description excerpt only, never the LONGTEXT).
+ *
+ * The snapshot is loaded on the first read, then only the rooms reported by markRoomChanged
+ * (room created, joined users counter changed) are reloaded and swapped into a new snapshot version.
+ * Requests read the current snapshot without locking and apply the user's memberships on copies,
+ * so the shared base DTOs are never mutated.
+ *
+ * Every snapshot also carries the rooms pre-ordered by each sort key (sorter comparator, then id).
+ * They are sorted once on the full load, afterwards a changed room is only removed from each order
+ * and inserted back at its binary-searched position, the orders are never re-sorted.
+ */
+@Service
+public class RoomCatalogServiceImpl implements RoomCatalogService {
+    private final RoomRepository roomRepository;
+    private final RoomMembershipRepository roomMembershipRepository;
+    private final UserRepository userRepository;
+    private final RoomMapper roomMapper;
+    private final Map<SortBy, Comparator<RoomDTO>> orderComparators = new EnumMap<>(SortBy.class);
+
+    private final AtomicReference<RoomCatalogSnapshot> snapshot = new AtomicReference<>();
+    private final Set<Long> changedRoomIds = ConcurrentHashMap.newKeySet();
+
+    public RoomCatalogServiceImpl(RoomRepository roomRepository,
+                                  RoomMembershipRepository roomMembershipRepository,
+                                  UserRepository userRepository,
+                                  RoomMapper roomMapper,
+                                  Map<SortBy, SortStrategy> sortingStrategies) {
+        this.roomRepository = roomRepository;
+        this.roomMembershipRepository = roomMembershipRepository;
+        this.userRepository = userRepository;
+        this.roomMapper = roomMapper;
+        // same total order as a single-key SorterChain: the sorter's comparator then the room id
+        sortingStrategies.forEach((order, sorter) ->
+                orderComparators.put(order, sorter.comparator().thenComparing(RoomDTO::getId)));
+    }
+
+    @Override
+    public RoomCatalogSnapshot getSnapshot() {
+        RoomCatalogSnapshot current = snapshot.get();
+        if (current != null && changedRoomIds.isEmpty()) {
+            return current; // fast path, no lock
+        }
+        return refresh();
+    }
+
+    @Override
+    public List<RoomDTO> getRoomCatalogForUser(Long userId) {
+        return getRoomCatalogForUser(userId, null);
+    }
+
+    @Override
+    public List<RoomDTO> getRoomCatalogForUser(Long userId, SortBy order) {
+        List<RoomDTO> rooms = new ArrayList<>(getSnapshot().getRooms().size());
+        forEachRoomForUser(userId, order, rooms::add);
+        return rooms;
+    }
+
+    @Override
+    public List<RoomDTO> personalize(Long userId, List<RoomDTO> baseRooms) {
+        List<RoomDTO> rooms = new ArrayList<>(baseRooms.size());
+        forEachPersonalized(userId, baseRooms, rooms::add);
+        return rooms;
+    }
+
+    @Override
+    public void forEachRoomForUser(Long userId, SortBy order, Consumer<RoomDTO> consumer) {
+        forEachPersonalized(userId, getSnapshot().getRooms(order), consumer);
+    }
+
+    private void forEachPersonalized(Long userId, List<RoomDTO> baseRooms, Consumer<RoomDTO> consumer) {
+        if (baseRooms.isEmpty()) {
+            return; // nothing to personalize, no membership query
+        }
+        Map<Long, MembershipOverlay> overlays = roomMembershipRepository.findMembershipOverlaysByUserId(userId).stream()
+                .collect(Collectors.toMap(MembershipOverlay::getRoomId, Function.identity()));
+        if (overlays.isEmpty() && !userRepository.existsById(userId)) {
+            throw new UserNotFoundException("user not found"); // no membership: an unknown user, or one that joined nothing yet
+        }
+
+        for (RoomDTO base : baseRooms) {
+            MembershipOverlay overlay = overlays.get(base.getId());
+            // rooms without membership are served as the shared base DTO, the others as a personalized copy
+            consumer.accept(overlay == null ? base : roomMapper.withMembership(base, overlay));
+        }
+    }
+
+    @Override
+    public void markRoomChanged(Long roomId) {
+        changedRoomIds.add(roomId);
+    }
+
+    // builds the next snapshot version, only one thread at a time, readers keep using the previous one
+    private synchronized RoomCatalogSnapshot refresh() {
+        RoomCatalogSnapshot current = snapshot.get();
+        if (current == null) {
+            changedRoomIds.clear(); // a full load already sees every committed change
+            List<RoomDTO> rooms = roomRepository.findAllCatalogCards().stream()
+                    .map(roomMapper::toCatalogDTO)
+                    .collect(Collectors.toList());
+            Map<SortBy, List<RoomDTO>> orderedRooms = new EnumMap<>(SortBy.class);
+            orderComparators.forEach((order, comparator) -> {
+                List<RoomDTO> ordered = new ArrayList<>(rooms);
+                ordered.sort(comparator);
+                orderedRooms.put(order, ordered);
+            });
+            RoomCatalogSnapshot initial = new RoomCatalogSnapshot(1, rooms, orderedRooms);
+            snapshot.set(initial);
+            return initial;
+        }
+        if (changedRoomIds.isEmpty()) {
+            return current; // another thread refreshed while we were waiting
+        }
+
+        // ids are removed before reading the database, a change committed after this point marks the room again
+        Set<Long> roomIds = new HashSet<>(changedRoomIds);
+        changedRoomIds.removeAll(roomIds);
+
+        Map<Long, RoomDTO> reloaded = roomRepository.findCatalogCardsByIds(roomIds).stream()
+                .collect(Collectors.toMap(RoomCatalogCard::getId, roomMapper::toCatalogDTO));
+        List<RoomDTO> reloadedRooms = new ArrayList<>(reloaded.values());
+
+        // copy-on-write: replace the changed entries, append the new rooms, drop the rooms that no longer exist
+        List<RoomDTO> rooms = new ArrayList<>(current.getRooms().size() + reloaded.size());
+        for (RoomDTO room : current.getRooms()) {
+            if (!roomIds.contains(room.getId())) {
+                rooms.add(room);
+            } else if (reloaded.containsKey(room.getId())) {
+                rooms.add(reloaded.remove(room.getId()));
+            }
+        }
+        if (!reloaded.isEmpty()) {
+            rooms.addAll(reloaded.values());
+            rooms.sort(Comparator.comparing(RoomDTO::getId));
+        }
+
+        // incremental repair of the pre-computed orders: take the changed rooms out, insert their new version in place
+        Map<SortBy, List<RoomDTO>> orderedRooms = new EnumMap<>(SortBy.class);
+        orderComparators.forEach((order, comparator) -> {
+            List<RoomDTO> ordered = new ArrayList<>(current.getRooms(order));
+            ordered.removeIf(room -> roomIds.contains(room.getId()));
+            for (RoomDTO room : reloadedRooms) {
+                int position = Collections.binarySearch(ordered, room, comparator);
+                ordered.add(position < 0 ? -position - 1 : position, room);
+            }
+            orderedRooms.put(order, ordered);
+        });
+
+        RoomCatalogSnapshot next = new RoomCatalogSnapshot(current.getVersion() + 1, rooms, orderedRooms);
+        snapshot.set(next);
+        return next;
+    }
+}
@@ -0,0 +1,169 @@
+package com.falcon.falcon.services.impl;
+
+import com.falcon.falcon.dtos.catalog.RoomCounterDrift;
+import com.falcon.falcon.entities.Room;
+import com.falcon.falcon.enums.InstanceStateEnum;
+import com.falcon.falcon.repositories.RoomRepository;
+import com.falcon.falcon.services.RoomCatalogService;
+import com.falcon.falcon.services.RoomCounterService;
+import com.falcon.falcon.services.support.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the room counter changes (joined users, running instances) in memory and writes them behind, in batches.
+ *
+ * Joins, leaves and instance transitions only add to a per-room LongAdder (striped, no lock, no database row contention).
+ * A scheduled flush (rooms.counters.flush-interval-ms) and a last flush at shutdown write each pending delta
+ * with UPDATE room SET counter = counter + ? (one JDBC batch per counter, rooms in id order), which cannot lose
+ * a concurrent update. The statements bypass Hibernate, so only the changed rooms are evicted from the second-level cache.
+ * A flushed amount is subtracted from the adder only after the commit: increments that arrive during the flush stay
+ * pending, and a failed flush keeps everything for the next attempt.
+ *
+ * The running instances counter is also reconciled periodically (rooms.counters.reconcile-interval-ms) against
+ * one GROUP BY count of the RUNNING instances, which repairs any drift (failed callbacks, manual changes).
+ */
+@Service
+public class RoomCounterServiceImpl implements RoomCounterService {
+    private static final Logger logger = LoggerFactory.getLogger(RoomCounterServiceImpl.class);
+
+    private final RoomRepository roomRepository;
+    private final RoomCatalogService roomCatalogService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, LongAdder> pendingJoinedUsers = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> pendingRunningInstances = new ConcurrentHashMap<>();
+
+    public RoomCounterServiceImpl(RoomRepository roomRepository,
+                                  RoomCatalogService roomCatalogService,
+                                  EntityManagerFactory entityManagerFactory,
+                                  PlatformTransactionManager transactionManager) {
+        this.roomRepository = roomRepository;
+        this.roomCatalogService = roomCatalogService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void addJoinedUsers(Long roomId, int delta) {
+        add(pendingJoinedUsers, roomId, delta);
+    }
+
+    @Override
+    public long getPendingJoinedUsers(Long roomId) {
+        return pending(pendingJoinedUsers, roomId);
+    }
+
+    @Override
+    public void addRunningInstances(Long roomId, int delta) {
+        add(pendingRunningInstances, roomId, delta);
+    }
+
+    @Override
+    public long getPendingRunningInstances(Long roomId) {
+        return pending(pendingRunningInstances, roomId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${rooms.counters.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Map<Long, Long> joinedUsers = sums(pendingJoinedUsers);
+        Map<Long, Long> runningInstances = sums(pendingRunningInstances);
+        if (joinedUsers.isEmpty() && runningInstances.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                roomRepository.addToTotalJoinedUsers(joinedUsers);
+                roomRepository.addToTotalRunningInstances(runningInstances);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Flushing the counters of {} rooms failed, they stay pending",
+                    joinedUsers.size() + runningInstances.size(), e);
+            return;
+        }
+
+        // keeps what was added since the sums
+        joinedUsers.forEach((roomId, delta) -> pendingJoinedUsers.get(roomId).add(-delta));
+        runningInstances.forEach((roomId, delta) -> pendingRunningInstances.get(roomId).add(-delta));
+        joinedUsers.keySet().forEach(this::roomChanged);
+        runningInstances.keySet().forEach(this::roomChanged);
+        logger.debug("Flushed the counters of {} rooms", joinedUsers.size() + runningInstances.size());
+    }
+
+    /**
+     * Sets totalRunningInstances = (RUNNING instances counted in the database) - (transitions not flushed yet)
+     * for the rooms where it differs. Runs between flushes (same lock), so a flushed delta is never subtracted twice.
+     * Transitions are not atomic with respect to this count: an instance saved before the count whose delta is added
+     * to the pending adder only after the read (InstanceServiceImp counts after its save) is seen in both, and the
+     * opposite interleaving in neither. Such a room is off by the transitions that were in flight during the
+     * reconciliation, and the next run, with nothing in flight, sets it right.
+     */
+    @Override
+    @Scheduled(initialDelayString = "${rooms.counters.reconcile-interval-ms:300000}",
+               fixedDelayString = "${rooms.counters.reconcile-interval-ms:300000}")
+    public synchronized void reconcileRunningInstances() {
+        Map<Long, Integer> corrected = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<RoomCounterDrift> counters = roomRepository.countRunningInstancesPerRoom(InstanceStateEnum.RUNNING);
+            for (RoomCounterDrift counter : counters) {
+                int expected = Math.toIntExact(counter.getCounted() - getPendingRunningInstances(counter.getRoomId()));
+                if (counter.getStored() == null || counter.getStored() != expected) {
+                    roomRepository.setTotalRunningInstances(counter.getRoomId(), expected);
+                    corrected.put(counter.getRoomId(), expected);
+                }
+            }
+        });
+        if (!corrected.isEmpty()) {
+            corrected.keySet().forEach(this::roomChanged);
+            logger.info("Reconciled the running instances counter of {} rooms: {}", corrected.size(), corrected);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // a rolled back join/leave/transition must not be counted
+    private void add(Map<Long, LongAdder> counters, Long roomId, int delta) {
+        TransactionCallbacks.afterCommit(() -> counters.computeIfAbsent(roomId, id -> new LongAdder()).add(delta));
+    }
+
+    private long pending(Map<Long, LongAdder> counters, Long roomId) {
+        LongAdder pending = counters.get(roomId);
+        return pending != null ? pending.sum() : 0;
+    }
+
+    // sorted by room id: concurrent flushes (several nodes) lock the room rows in the same order
+    private Map<Long, Long> sums(Map<Long, LongAdder> counters) {
+        Map<Long, Long> sums = new TreeMap<>();
+        counters.forEach((roomId, pending) -> {
+            long delta = pending.sum();
+            if (delta != 0) {
+                sums.put(roomId, delta);
+            }
+        });
+        return sums;
+    }
+
+    // the catalog snapshot reloads the stored value, the second-level cache drops the stale entity
+    private void roomChanged(Long roomId) {
+        roomCatalogService.markRoomChanged(roomId);
+        entityManagerFactory.getCache().evict(Room.class, roomId);
+    }
+}
@@ -1,19 +1,27 @@
 package com.falcon.falcon.services.impl;
 
 import com.falcon.falcon.dtos.RoomDTO;
+import com.falcon.falcon.dtos.catalog.RoomCatalogCard;
 import com.falcon.falcon.entities.Room;
 import com.falcon.falcon.exceptions.roomExceptions.RoomAlreadySavedException;
 import com.falcon.falcon.exceptions.roomExceptions.RoomNotFoundException;
 import com.falcon.falcon.mappers.ChallengeMapper;
 import com.falcon.falcon.mappers.RoomMapper;
+import com.falcon.falcon.operations.search.RoomTrigramIndex;
 import com.falcon.falcon.repositories.RoomRepository;
+import com.falcon.falcon.services.RoomCatalogService;
+import com.falcon.falcon.services.RoomCounterService;
 import com.falcon.falcon.services.RoomService;
+import com.falcon.falcon.services.support.TransactionCallbacks;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime; // Added import
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class RoomServiceImpl implements RoomService {
@@ -21,21 +29,40 @@ public class RoomServiceImpl implements RoomService {
     private RoomRepository roomRepository;
     private RoomMapper roomMapper;
     private ChallengeMapper challengeMapper;
+    private RoomTrigramIndex roomTrigramIndex;
+    private RoomCatalogService roomCatalogService;
+    private EntityManagerFactory entityManagerFactory;
+    private RoomCounterService roomCounterService;
 
-    public RoomServiceImpl(RoomRepository roomRepository, RoomMapper roomMapper, ChallengeMapper challengeMapper) {
+    public RoomServiceImpl(RoomRepository roomRepository, RoomMapper roomMapper, ChallengeMapper challengeMapper,
+                           RoomTrigramIndex roomTrigramIndex, RoomCatalogService roomCatalogService,
+                           EntityManagerFactory entityManagerFactory, RoomCounterService roomCounterService) {
         this.roomRepository = roomRepository;
         this.roomMapper = roomMapper;
         this.challengeMapper = challengeMapper;
+        this.roomTrigramIndex = roomTrigramIndex;
+        this.roomCatalogService = roomCatalogService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.roomCounterService = roomCounterService;
     }
 //     @Transactional(readOnly = true) tells Spring and Hibernate, “This method will only read data from the database, not change it.”
     @Override
     @Transactional(readOnly = true)
-    public List<RoomDTO> getAllRooms() {
-        return roomRepository.findAll().stream()
-                .map(room -> roomMapper.toDTO(room))
+    public List<RoomDTO> getAllRooms() { // card views: the full description is only loaded by getRoomById
+        return roomRepository.findAllCatalogCards().stream()
+                .map(card -> roomMapper.toCatalogDTO(card))
                 .collect(Collectors.toList());
     }
 
+    // card projections (DTOs, not entities) so nothing accumulates in the persistence context while streaming
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachRoom(Consumer<RoomDTO> consumer) {
+        try (Stream<RoomCatalogCard> cards = roomRepository.streamAllCatalogCards()) {
+            cards.forEach(card -> consumer.accept(roomMapper.toCatalogDTO(card)));
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public RoomDTO getRoomById(Long id) { // user agnostic Room
@@ -45,6 +72,9 @@ public class RoomServiceImpl implements RoomService {
 
         // convert the room to DTO
         RoomDTO roomDTO = roomMapper.toDTO(room);
+        // joins/leaves not flushed yet
+        roomDTO.setTotalJoinedUsers(roomDTO.getTotalJoinedUsers() + (int) roomCounterService.getPendingJoinedUsers(id));
+        roomDTO.setTotalRunningInstances(roomDTO.getTotalRunningInstances() + (int) roomCounterService.getPendingRunningInstances(id));
 
         // Set the challenges in the DTO
         roomDTO.setChallenges(room.getChallenges().stream()
@@ -73,14 +103,20 @@ public class RoomServiceImpl implements RoomService {
         // else we create a new Room object from the DTO passed
         Room savedRoom = roomRepository.save(room);
         System.out.println("Saved Room: " + savedRoom);
+        // the room becomes searchable only once it is committed
+        TransactionCallbacks.afterCommit(() -> {
+            roomTrigramIndex.index(savedRoom.getId(), savedRoom.getTitle(), savedRoom.getDescription());
+            roomCatalogService.markRoomChanged(savedRoom.getId());
+            evictRoom(savedRoom.getId());
+        });
         return roomMapper.toDTO(savedRoom);
     }
 
+    // no read-modify-write on the room row: the +1 is aggregated in memory and flushed as a relative UPDATE
+    // (callers already hold the room or a membership of it, so the room exists)
     @Override
     public void incrementJoinedUsers(Long roomId) throws RoomNotFoundException {
-        Room room = roomRepository.findById(roomId).orElseThrow(()->new RoomNotFoundException("room not found"));
-        room.setTotalJoinedUsers(room.getTotalJoinedUsers() + 1);
-        roomRepository.save(room);
+        roomCounterService.addJoinedUsers(roomId, 1);
         // here we will use the notification system or whatever
         // Socket notification would go here in the future
         // roomSubject.notifyObservers(new RoomUpdateEvent(roomId, "USER_LEFT", userId));
@@ -88,13 +124,17 @@ public class RoomServiceImpl implements RoomService {
 
     @Override
     public void decrementJoinedUsers(Long roomId) throws RoomNotFoundException {
-        Room room = roomRepository.findById(roomId).orElseThrow(()->new RoomNotFoundException("room not found"));
-        room.setTotalJoinedUsers(room.getTotalJoinedUsers() - 1);
-        roomRepository.save(room);
+        roomCounterService.addJoinedUsers(roomId, -1);
         // here we will use the notification system or whatever
         // Socket notification would go here in the future
         // roomSubject.notifyObservers(new RoomUpdateEvent(roomId, "USER_LEFT", userId));
     }
+
+    // drops the room from the second-level cache, its next read reloads the committed row
+    private void evictRoom(Long roomId) {
+        entityManagerFactory.getCache().evict(Room.class, roomId);
+    }
+
 }
 
 // NOTE 1 :
@@ -0,0 +1,159 @@
+package com.falcon.falcon.services.impl;
+
+import com.falcon.falcon.dtos.challenge.SolveEvent;
+import com.falcon.falcon.dtos.statistics.SolveEventQueueStatsDTO;
+import com.falcon.falcon.repositories.RoomMembershipRepository;
+import com.falcon.falcon.services.SolveEventService;
+import com.falcon.falcon.services.support.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-process queue of solved challenges and its batch consumer.
+ *
+ * A correct submission only writes its FlagSubmission row in the request; the solve is queued after the commit,
+ * so the response returns as soon as the submission is durable.
+ * The consumer (challenges.solve-events.poll-interval-ms) drains up to challenges.solve-events.batch-size events,
+ * groups them per (user, room) and applies them in one transaction: challengesCompleted += solves (capped at the
+ * room's totalChallenges), then completedAt for the memberships that reached 100%.
+ * Profile and room statistics are computed from these membership columns, so they follow.
+ *
+ * When the queue is full the request applies its own event (back-pressure instead of loss).
+ * Events lost anyway (failed batch, crash before the drain) are recovered by the scheduled progress repair
+ * of FlagSubmissionService, which recounts the solves and sets the missing completion dates.
+ */
+@Service
+public class SolveEventServiceImpl implements SolveEventService {
+    private static final Logger logger = LoggerFactory.getLogger(SolveEventServiceImpl.class);
+
+    private final RoomMembershipRepository roomMembershipRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final BlockingQueue<SolveEvent> queue;
+    private final int capacity;
+    private final int batchSize;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong processedInline = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile long lastBatchDurationMs;
+
+    public SolveEventServiceImpl(RoomMembershipRepository roomMembershipRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${challenges.solve-events.queue-capacity:10000}") int capacity,
+                                 @Value("${challenges.solve-events.batch-size:500}") int batchSize) {
+        this.roomMembershipRepository = roomMembershipRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // afterCommit callbacks still see the committed transaction as the current one, joining it would write on a
+        // connection that is never committed again: single events always get a transaction of their own
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public void publish(Long userId, Long roomId, Long challengeId) {
+        // a rolled back submission must not count as a solve
+        TransactionCallbacks.afterCommit(() -> {
+            SolveEvent event = new SolveEvent(userId, roomId, challengeId, System.currentTimeMillis());
+            if (queue.offer(event)) {
+                published.incrementAndGet();
+            } else {
+                logger.warn("Solve event queue full ({} events), applying the solve of user {} in room {} inline", capacity, userId, roomId);
+                if (applyAlone(event)) {
+                    processedInline.incrementAndGet();
+                }
+            }
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${challenges.solve-events.poll-interval-ms:100}")
+    public synchronized void processPendingEvents() {
+        List<SolveEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            long start = System.currentTimeMillis();
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(batch));
+                processed.addAndGet(batch.size());
+            } catch (RuntimeException e) {
+                logger.error("Applying a batch of {} solve events failed, retrying them one by one", batch.size(), e);
+                for (SolveEvent event : batch) {
+                    if (applyAlone(event)) {
+                        processed.incrementAndGet();
+                    }
+                }
+            }
+            lastBatchSize = batch.size();
+            lastBatchDurationMs = System.currentTimeMillis() - start;
+            batch.clear();
+        }
+    }
+
+    @Override
+    public SolveEventQueueStatsDTO getQueueStatistics() {
+        SolveEvent oldest = queue.peek();
+        return SolveEventQueueStatsDTO.builder()
+                .depth(queue.size())
+                .capacity(capacity)
+                .lagMs(oldest != null ? Math.max(0, System.currentTimeMillis() - oldest.getPublishedAtMillis()) : 0)
+                .published(published.get())
+                .processed(processed.get())
+                .processedInline(processedInline.get())
+                .failed(failed.get())
+                .lastBatchSize(lastBatchSize)
+                .lastBatchDurationMs(lastBatchDurationMs)
+                .build();
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        processPendingEvents();
+    }
+
+    // one relative update per (user, room) of the batch, then the completion dates of the memberships it touched
+    private void apply(List<SolveEvent> events) {
+        Map<List<Long>, Integer> solves = new LinkedHashMap<>();
+        for (SolveEvent event : events) {
+            solves.merge(List.of(event.getUserId(), event.getRoomId()), 1, Integer::sum);
+        }
+        Date now = new Date();
+        solves.forEach((membership, count) -> {
+            roomMembershipRepository.addChallengesCompleted(membership.get(0), membership.get(1), count);
+            roomMembershipRepository.markCompletedIfDone(membership.get(0), membership.get(1), now);
+        });
+    }
+
+    // a single event in its own (new) transaction, so one bad event does not drop the others
+    private boolean applyAlone(SolveEvent event) {
+        try {
+            newTransactionTemplate.executeWithoutResult(status -> apply(List.of(event)));
+            return true;
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            logger.error("Solve event of user {} in room {} (challenge {}) could not be applied, left to the progress repair",
+                    event.getUserId(), event.getRoomId(), event.getChallengeId(), e);
+            return false;
+        }
+    }
+}
@@ -4,11 +4,20 @@ import java.sql.Date;
 import java.time.LocalDate;
 import java.time.ZoneId;
 
+import java.util.Map;
+import java.util.TreeMap;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.falcon.falcon.dtos.statistics.GlobalRoomStatsDTO;
 import com.falcon.falcon.dtos.statistics.ProfileStatisticsDTO;
+import com.falcon.falcon.dtos.statistics.SecondLevelCacheStatsDTO;
+import com.falcon.falcon.dtos.statistics.SolveEventQueueStatsDTO;
 import com.falcon.falcon.dtos.statistics.StatDetail;
 import com.falcon.falcon.enums.Complexity;
 import com.falcon.falcon.enums.InstanceStateEnum;
@@ -16,6 +25,7 @@ import com.falcon.falcon.repositories.FlagSubmissionRepository;
 import com.falcon.falcon.repositories.InstanceRepository;
 import com.falcon.falcon.repositories.RoomMembershipRepository;
 import com.falcon.falcon.repositories.RoomRepository;
+import com.falcon.falcon.services.SolveEventService;
 import com.falcon.falcon.services.StatisticsService;
 
 @Service
@@ -25,9 +35,13 @@ public class StatisticsServiceImpl implements StatisticsService {
     private final InstanceRepository instanceRepository; 
     private final RoomMembershipRepository roomMembershipRepository;
     private final FlagSubmissionRepository flagSubmissionRepository; // Add this
+    private final EntityManagerFactory entityManagerFactory;
+    private final SolveEventService solveEventService;
 
-    public StatisticsServiceImpl(InstanceRepository instanceRepository, RoomRepository roomRepository, RoomMembershipRepository roomMembershipRepository, FlagSubmissionRepository flagSubmissionRepository) {
+    public StatisticsServiceImpl(InstanceRepository instanceRepository, RoomRepository roomRepository, RoomMembershipRepository roomMembershipRepository, FlagSubmissionRepository flagSubmissionRepository, EntityManagerFactory entityManagerFactory, SolveEventService solveEventService) {
         this.roomRepository = roomRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.solveEventService = solveEventService;
         this.roomMembershipRepository = roomMembershipRepository;
         this.flagSubmissionRepository = flagSubmissionRepository;
         this.instanceRepository = instanceRepository;
@@ -112,4 +126,41 @@ public class StatisticsServiceImpl implements StatisticsService {
         return globalStats;
     }
 
+    @Override
+    public SolveEventQueueStatsDTO getSolveEventQueueStatistics() {
+        return solveEventService.getQueueStatistics();
+    }
+
+    @Override
+    public SecondLevelCacheStatsDTO getSecondLevelCacheStatistics() {
+        // collected by Hibernate because hibernate.generate_statistics=true
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, SecondLevelCacheStatsDTO.CacheRegionStats> regions = new TreeMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(regionName);
+            if (region == null) {
+                continue; // not an entity/collection region
+            }
+            regions.put(regionName, SecondLevelCacheStatsDTO.CacheRegionStats.builder()
+                    .hitCount(region.getHitCount())
+                    .missCount(region.getMissCount())
+                    .putCount(region.getPutCount())
+                    .hitRatio(hitRatio(region.getHitCount(), region.getMissCount()))
+                    .build());
+        }
+
+        return SecondLevelCacheStatsDTO.builder()
+                .hitCount(statistics.getSecondLevelCacheHitCount())
+                .missCount(statistics.getSecondLevelCacheMissCount())
+                .putCount(statistics.getSecondLevelCachePutCount())
+                .hitRatio(hitRatio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()))
+                .regions(regions)
+                .build();
+    }
+
+    private double hitRatio(long hits, long misses) {
+        long reads = hits + misses;
+        return reads == 0 ? 0 : (double) hits / reads;
+    }
 }
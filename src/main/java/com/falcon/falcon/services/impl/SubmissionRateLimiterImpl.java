@@ -0,0 +1,64 @@
+package com.falcon.falcon.services.impl;
+
+import com.falcon.falcon.exceptions.challengeExceptions.SubmissionRateLimitExceededException;
+import com.falcon.falcon.services.SubmissionRateLimiter;
+import com.falcon.falcon.services.ratelimit.TokenBucketRateLimiter;
+import com.falcon.falcon.services.ratelimit.TokenBucketRateLimiter.Limit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Two token buckets per submission: one per user (all challenges, stops a client spraying many challenges)
+ * and one per (user, challenge) (stops brute forcing a single flag).
+ * Both keys share the user id as Redis hash tag, so in REDIS mode they live in the same cluster slot
+ * and are updated by one script.
+ */
+@Service
+public class SubmissionRateLimiterImpl implements SubmissionRateLimiter {
+    private static final String KEY_PREFIX = "ratelimit:submit:";
+
+    private final TokenBucketRateLimiter buckets;
+    private final boolean enabled;
+    private final long userCapacity;
+    private final double userRefillPerSecond;
+    private final long challengeCapacity;
+    private final double challengeRefillPerSecond;
+
+    public SubmissionRateLimiterImpl(TokenBucketRateLimiter buckets,
+                                     @Value("${submissions.rate-limit.enabled:true}") boolean enabled,
+                                     @Value("${submissions.rate-limit.user.capacity:30}") long userCapacity,
+                                     @Value("${submissions.rate-limit.user.refill-per-second:1}") double userRefillPerSecond,
+                                     @Value("${submissions.rate-limit.challenge.capacity:5}") long challengeCapacity,
+                                     @Value("${submissions.rate-limit.challenge.refill-per-second:0.2}") double challengeRefillPerSecond) {
+        this.buckets = buckets;
+        this.enabled = enabled;
+        this.userCapacity = userCapacity;
+        this.userRefillPerSecond = userRefillPerSecond;
+        this.challengeCapacity = challengeCapacity;
+        this.challengeRefillPerSecond = challengeRefillPerSecond;
+    }
+
+    @Override
+    public void checkSubmission(Long userId, Long challengeId) throws SubmissionRateLimitExceededException {
+        if (!enabled) {
+            return;
+        }
+        String userKey = KEY_PREFIX + "{" + userId + "}";
+        long waitMs = buckets.tryAcquire(List.of(
+                new Limit(userKey, userCapacity, userRefillPerSecond),
+                new Limit(userKey + ":challenge:" + challengeId, challengeCapacity, challengeRefillPerSecond)));
+        if (waitMs > 0) {
+            long retryAfterSeconds = Math.max(1, (waitMs + 999) / 1000);
+            throw new SubmissionRateLimitExceededException(
+                    "Too many flag submissions, retry in " + retryAfterSeconds + " seconds", retryAfterSeconds);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${submissions.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        buckets.evictIdleBuckets();
+    }
+}
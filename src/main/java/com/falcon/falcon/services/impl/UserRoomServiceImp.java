@@ -2,9 +2,17 @@ package com.falcon.falcon.services.impl;
 
 import com.falcon.falcon.dtos.ChallengeDTO;
 import com.falcon.falcon.dtos.RoomDTO;
-import com.falcon.falcon.entities.Room;
+import com.falcon.falcon.dtos.RoomFilterCriteria;
+import com.falcon.falcon.dtos.catalog.CursorPage;
+import com.falcon.falcon.dtos.catalog.JoinedRoomChallengeRow;
+import com.falcon.falcon.dtos.catalog.MembershipOverlay;
+import com.falcon.falcon.dtos.catalog.RoomCatalogRow;
+import com.falcon.falcon.dtos.enrollment.BulkEnrollmentRequest;
+import com.falcon.falcon.dtos.enrollment.BulkEnrollmentResult;
+import com.falcon.falcon.dtos.enrollment.EnrollmentPair;
 import com.falcon.falcon.entities.RoomMembership;
 import com.falcon.falcon.entities.User;
+import com.falcon.falcon.exceptions.membershipExceptions.InvalidBulkEnrollmentException;
 import com.falcon.falcon.exceptions.membershipExceptions.RoomMembershipNotFoundException;
 import com.falcon.falcon.exceptions.roomExceptions.RoomNotFoundException;
 import com.falcon.falcon.exceptions.userExceptions.UserNotFoundException;
@@ -12,11 +20,19 @@ import com.falcon.falcon.mappers.ChallengeMapper;
 import com.falcon.falcon.mappers.RoomMapper;
 import com.falcon.falcon.repositories.*;
 import com.falcon.falcon.services.FlagSubmissionService;
+import com.falcon.falcon.services.RoomCounterService;
 import com.falcon.falcon.services.RoomService;
 import com.falcon.falcon.services.UserRoomService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 /**
  * Service responsible for managing user-room relationships and interactions.
@@ -36,6 +52,9 @@ public class UserRoomServiceImp implements UserRoomService {
     private FlagSubmissionRepository flagSubmissionRepository;
     private RoomService roomService;
     private FlagSubmissionService flagSubmissionService;
+    private RoomCounterService roomCounterService;
+    private final int bulkEnrollmentMaxPairs;
+    private static final int MAX_COMPLETED_ROOMS_PAGE_SIZE = 100;
 
     public UserRoomServiceImp(
             UserRepository userRepository,
@@ -45,8 +64,12 @@ public class UserRoomServiceImp implements UserRoomService {
             RoomMapper roomMapper,
             ChallengeMapper challengeMapper,
             RoomService roomService,
-            FlagSubmissionService flagSubmissionService) {
+            FlagSubmissionService flagSubmissionService,
+            RoomCounterService roomCounterService,
+            @Value("${rooms.enrollment.bulk.max-pairs:5000}") int bulkEnrollmentMaxPairs) {
         this.flagSubmissionService = flagSubmissionService;
+        this.roomCounterService = roomCounterService;
+        this.bulkEnrollmentMaxPairs = bulkEnrollmentMaxPairs;
         this.userRepository = userRepository;
         this.roomRepository = roomRepository;
         this.roomMembershipRepository = roomMembershipRepository;
@@ -56,6 +79,62 @@ public class UserRoomServiceImp implements UserRoomService {
         this.roomService = roomService;
     }
 
+    // getRoomCatalog(Long userId)
+    /*
+     * Retrieves the full room catalog personalized for a user.
+     * 1. Runs one LEFT JOIN projection query (rooms x this user's membership row)
+     * 2. Maps each row to a RoomDTO carrying isJoined, isSaved and percentageCompleted
+     * No entity is loaded and no in-memory matching between rooms and memberships is needed.
+     * Throws UserNotFoundException if user doesn't exist
+     */
+    @Override
+    public List<RoomDTO> getRoomCatalog(Long userId) throws UserNotFoundException {
+        List<RoomCatalogRow> rows = this.roomRepository.findRoomCatalogForUser(userId);
+        requireUserUnlessMember(userId, rows);
+        return rows.stream()
+                .map(roomMapper::toUserSpecificDTO)
+                .collect(Collectors.toList());
+    }
+
+    // getRoomCatalogPage(Long userId, RoomFilterCriteria criteria)
+    /*
+     * Retrieves one page of the personalized catalog, with filtering, sorting and pagination done by the database.
+     * 1. The criteria are translated into a single Criteria API query (see RoomCatalogQueryRepositoryImpl)
+     * 2. Only the rows of the requested page are read, starting after the cursor of the previous page
+     * 3. Each row is mapped to a RoomDTO carrying the user's membership data
+     * Throws UserNotFoundException if user doesn't exist
+     */
+    @Override
+    public CursorPage<RoomDTO> getRoomCatalogPage(Long userId, RoomFilterCriteria criteria) throws UserNotFoundException {
+        CursorPage<RoomCatalogRow> rows = this.roomRepository.findRoomCatalogPage(userId, criteria);
+        requireUserUnlessMember(userId, rows.getContent());
+        return new CursorPage<>(
+                rows.getContent().stream().map(roomMapper::toUserSpecificDTO).collect(Collectors.toList()),
+                rows.getNextCursor());
+    }
+
+    // forEachRoomOfCatalog(Long userId, RoomFilterCriteria criteria, Consumer<RoomDTO> consumer)
+    /*
+     * Unpaged variant of getRoomCatalogPage for the streamed responses: the rows are mapped and handed to the consumer
+     * while the result set is read, the filtered catalog is never materialized.
+     * Throws UserNotFoundException if user doesn't exist, before the first room is handed over
+     */
+    @Override
+    public void forEachRoomOfCatalog(Long userId, RoomFilterCriteria criteria, Consumer<RoomDTO> consumer) throws UserNotFoundException {
+        if (!this.userRepository.existsById(userId)) {
+            throw new UserNotFoundException("user not found");
+        }
+        this.roomRepository.forEachRoomCatalogRow(userId, criteria, row -> consumer.accept(roomMapper.toUserSpecificDTO(row)));
+    }
+
+    // a row with membership data proves the user exists, otherwise the id is probed (unknown user, or no membership yet)
+    private void requireUserUnlessMember(Long userId, List<RoomCatalogRow> rows) throws UserNotFoundException {
+        boolean member = rows.stream().anyMatch(row -> row.getIsJoined() != null);
+        if (!member && !this.userRepository.existsById(userId)) {
+            throw new UserNotFoundException("user not found");
+        }
+    }
+
     // getJoinedRooms(Long userId)
     /*
     Retrieves all rooms that a user has explicitly joined
@@ -94,133 +173,182 @@ public class UserRoomServiceImp implements UserRoomService {
                 .collect(Collectors.toList());
     }
 
-    // getCompletedRooms(Long userId):
+    // getCompletedRooms(Long userId, int page, int size):
     /*
-     * Retrieves all rooms that a user has fully completed.
-     * 1. Fetches user with memberships and rooms
-     * 2. Filters memberships where completion rate = 100%
-     * 3. Maps each membership to a RoomDTO with completion data
-     * 4. Returns list of completed rooms with their stats
+     * Retrieves one page of the rooms a user has fully completed.
+     * 1. Runs one projection query with the completion predicate (challengesCompleted == totalChallenges, totalChallenges > 0)
+     * 2. Reads one row more than the page size to know whether another page follows (Slice, no COUNT query)
+     * 3. Maps each row to a RoomDTO with completion data
+     * Rooms without challenges are never completed (no division by zero).
      * Throws UserNotFoundException if user doesn't exist
      */
     @Override
-    public List<RoomDTO> getCompletedRooms(Long userId) throws UserNotFoundException {
-        User user = this.userRepository.findUserWithMembershipsAndRoomsById(userId).orElseThrow(()->new UserNotFoundException("user not found"));
-        return user.getMemberships().stream()
-                .filter(m -> m.getChallengesCompleted()/m.getRoom().getTotalChallenges() == 1)
-                .map(m -> roomMapper.toUserSpecificDTO(m.getRoom(), m))
-                .collect(Collectors.toList());
+    public Slice<RoomDTO> getCompletedRooms(Long userId, int page, int size) throws UserNotFoundException {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_COMPLETED_ROOMS_PAGE_SIZE));
+        Slice<RoomCatalogRow> rows = this.roomMembershipRepository.findCompletedRoomsForUser(userId, pageable);
+        if (!rows.hasContent() && pageable.getPageNumber() == 0 && !this.userRepository.existsById(userId)) {
+            throw new UserNotFoundException("user not found");
+        }
+        return rows.map(roomMapper::toUserSpecificDTO);
     }
 
     // getJoinedRoom(Long userId, Long roomId):
     /*
      * Retrieves detailed information about a specific room the user has joined.
-     * 1. Fetches user with memberships, rooms, and challenges
-     * 2. Finds the specific room membership
-     * 3. Maps room to RoomDTO including:
-     *    - Room details (title, description)
-     *    - Challenge list
-     *    - Completion status
+     * 1. Fetches, in one query, the user's membership for this room, the room, its challenges
+     *    and for each challenge whether the user already submitted the correct flag
+     * 2. Maps the room columns (first row) to a RoomDTO with user-specific data
+     * 3. Maps every row to a ChallengeDTO carrying its completion status
      * 4. Returns detailed room info with user-specific data
+     * Only this room is read, whatever the number of rooms the user joined.
      * Throws UserNotFoundException if user not found
      * Throws RoomNotFoundException if room not found in user's memberships
      */
     @Override
     public RoomDTO getJoinedRoom(Long userId, Long roomId) throws UserNotFoundException, RoomNotFoundException {
-        // here we will fetch The User, and then we will search for the room in the memberships
-        User user = this.userRepository.findUserWithMembershipsAndRoomsAndChallengesById(userId) // !!! heavy query
-                .orElseThrow(()->new UserNotFoundException("user not found"));
-
-        // we find the first membership that has the passed roomId (the only that exists)
-        RoomMembership membership = user.getMemberships().stream()
-                .filter(rm -> rm.getRoom().getId().equals(roomId))
-                .findFirst()
-                .orElseThrow(()->new RoomNotFoundException("room not found"));
+        List<JoinedRoomChallengeRow> rows = roomMembershipRepository.findJoinedRoomWithChallenges(userId, roomId);
+        if (rows.isEmpty()) {
+            // no membership: tell apart an unknown user from a room the user never joined or saved
+            if (!userRepository.existsById(userId)) {
+                throw new UserNotFoundException("user not found");
+            }
+            throw new RoomNotFoundException("room not found");
+        }
 
-        // Get the room and create DTO with user-specific data
-        Room room = membership.getRoom();
-        RoomDTO roomDTO = roomMapper.toUserSpecificDTO(room, membership);
+        // room and membership columns are the same on every row
+        RoomDTO roomDTO = roomMapper.toUserSpecificDTO(rows.get(0));
+        roomDTO.setTotalJoinedUsers(roomDTO.getTotalJoinedUsers() + (int) roomCounterService.getPendingJoinedUsers(roomId)); // joins/leaves not flushed yet
+        roomDTO.setTotalRunningInstances(roomDTO.getTotalRunningInstances() + (int) roomCounterService.getPendingRunningInstances(roomId));
 
-        // 4. Convert all challenges to DTOs
-        List<ChallengeDTO> challengeDTOs = room.getChallenges().stream()
+        List<ChallengeDTO> challengeDTOs = rows.stream()
+                .filter(row -> row.getChallengeId() != null) // a room without challenges comes back as one row without challenge
                 .map(challengeMapper::toChallengeDTO)
                 .collect(Collectors.toList());
-
-        // 5. Get IDs of challenges the user has completed in this room
-        Set<Long> completedChallengeIds = flagSubmissionRepository
-                .findCompletedChallengeIdsByUserIdAndRoomId(userId, roomId);
-
-        // 6. Mark challenges as completed based on the IDs
-        challengeDTOs.forEach(challenge ->
-                challenge.setCompleted(completedChallengeIds.contains(challenge.getId())));
-
-        // 7. Add the challenges to the room DTO
         roomDTO.setChallenges(challengeDTOs);
 
         return roomDTO;
     }
 
+    // joinRoom(Long userId, Long roomId):
+    /*
+     * Marks the room as joined with one native upsert on the (user_id, room_id) unique key:
+     * the membership is created when missing, flipped to joined when it was only saved, left untouched when already joined.
+     * No user, room or membership entity is loaded, the ids are written as they are.
+     * The affected rows count tells what happened (1 inserted, 2 updated, 0 unchanged, see RoomMembershipRepository),
+     * so the joined users counter only moves when the joined flag actually flips.
+     * A missing user or room fails the foreign keys and is reported as not found.
+     */
     @Override
     public void joinRoom(Long userId, Long roomId) throws UserNotFoundException, RoomNotFoundException {
-        // step 1 : this returns an optional (this may or may not have a roomMembership)
-        Optional<RoomMembership> roomMembership = this.roomMembershipRepository.findByRoomIdAndUserId(roomId, userId);
-        // step 2 : check
-        roomMembership.ifPresentOrElse(
-                // if the room membership is present
-                membership -> {
-                    this.roomService.incrementJoinedUsers(roomId);
-                    membership.setIsJoined(true); // we set isJoined to true
-                    this.roomMembershipRepository.save(membership); // we persist it
-                },
-                // if the room membership is not present this means the room was never saved before, and an entry in the roomMembership table is not there
-                () -> {
-                    User user = this.userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("user not found")); // we first retrieve the user
-                    Room room = this.roomRepository.findById(roomId).orElseThrow(() -> new RoomNotFoundException("room not found")); // then the room
-                    RoomMembership newRoomMembership = new RoomMembership(); // then we create a new Room Membership
-                    // we then set the relationship
-                    newRoomMembership.setRoom(room);
-                    newRoomMembership.setUser(user);
-                    // then we mark the user as joined
-                    newRoomMembership.setIsSaved(false);
-                    newRoomMembership.setIsJoined(true);
-                    this.roomMembershipRepository.save(newRoomMembership); // then we save the room membership
-                    // in the future we should from here signal out to the roomService that a new user has joined a room
-                    this.roomService.incrementJoinedUsers(roomId);
-                }
-        );
-
+        int affectedRows = upsert(() -> roomMembershipRepository.upsertJoined(userId, roomId), userId, roomId);
+        if (affectedRows > 0) {
+            this.roomService.incrementJoinedUsers(roomId);
+        }
     }
 
+    // saveRoom(Long userId, Long roomId):
+    /*
+     * Marks the room as saved with the same single upsert (created when missing, isSaved set when it was only joined).
+     */
     @Override
     public void saveRoom(Long userId, Long roomId) throws UserNotFoundException, RoomNotFoundException {
-        // again here we have two cases
-        // if the user has joined the room then we will just modify the existing relationship
-        // else we will create a new roomMembership
+        upsert(() -> roomMembershipRepository.upsertSaved(userId, roomId), userId, roomId);
+    }
 
-        // step 1
-        Optional<RoomMembership> roomMembership = this.roomMembershipRepository.findByRoomIdAndUserId(roomId, userId);
-        // step 2
-        roomMembership.ifPresentOrElse(
-                membership -> {
-                    membership.setIsSaved(true);
-                    this.roomMembershipRepository.save(membership);
-                },
-                // if the room membership is not present this means that there is no entry in the roomMembership table
-                () -> {
-                    User user = this.userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("user not found")); // we first retrieve the user
-                    Room room = this.roomRepository.findById(roomId).orElseThrow(() -> new RoomNotFoundException("room not found")); // then the room
-                    RoomMembership newRoomMembership = new RoomMembership(); // then we create a new Room Membership
-                    // we then set the relationship
-                    newRoomMembership.setRoom(room);
-                    newRoomMembership.setUser(user);
-                    // then we mark the user as joined
-                    newRoomMembership.setIsJoined(false);
-                    newRoomMembership.setIsSaved(true);
-                    this.roomMembershipRepository.save(newRoomMembership); // then we save the room membership
-                    // in the future we should from here signal out to the roomService that a new user has joined a room
+    // runs a membership upsert, a foreign key violation means the user or the room does not exist
+    private int upsert(IntSupplier statement, Long userId, Long roomId) {
+        try {
+            return statement.getAsInt();
+        } catch (DataIntegrityViolationException e) {
+            if (!userRepository.existsById(userId)) {
+                throw new UserNotFoundException("user not found");
+            }
+            if (!roomRepository.existsById(roomId)) {
+                throw new RoomNotFoundException("room not found");
+            }
+            throw e;
+        }
+    }
+
+    // bulkEnroll(BulkEnrollmentRequest request):
+    /*
+     * Applies one action (JOIN, SAVE or LEAVE) to many (user, room) pairs, e.g. a cohort enrolled into a set of rooms.
+     * 1. Duplicate pairs are dropped and the rest ordered by (room, user), so concurrent batches lock rows in the same order
+     * 2. The membership statements run as JDBC batches (see RoomMembershipBatchRepositoryImpl), no entity is loaded
+     * 3. The pairs that actually flipped are aggregated into one joined users delta per room, written behind once per room
+     * A pair referencing an unknown user or room fails the whole batch with the not found ids.
+     */
+    @Override
+    public BulkEnrollmentResult bulkEnroll(BulkEnrollmentRequest request) {
+        if (request == null || request.getAction() == null) {
+            throw new InvalidBulkEnrollmentException("action is required (JOIN, SAVE or LEAVE)");
+        }
+        List<EnrollmentPair> pairs = distinctPairs(request.getEnrollments());
+        if (pairs.isEmpty()) {
+            throw new InvalidBulkEnrollmentException("at least one (userId, roomId) enrollment is required");
+        }
+        if (pairs.size() > bulkEnrollmentMaxPairs) {
+            throw new InvalidBulkEnrollmentException("at most " + bulkEnrollmentMaxPairs + " enrollments per request, got " + pairs.size());
+        }
+
+        boolean[] changed;
+        try {
+            changed = switch (request.getAction()) {
+                case JOIN -> roomMembershipRepository.batchUpsertJoined(pairs);
+                case SAVE -> roomMembershipRepository.batchUpsertSaved(pairs);
+                case LEAVE -> roomMembershipRepository.batchLeave(pairs);
+            };
+        } catch (DataIntegrityViolationException e) {
+            throw notFound(pairs, e);
+        }
+
+        int changedPairs = 0;
+        Map<Long, Integer> joinedUsersDeltas = new TreeMap<>();
+        int delta = switch (request.getAction()) {
+            case JOIN -> 1;
+            case LEAVE -> -1;
+            case SAVE -> 0;
+        };
+        for (int i = 0; i < changed.length; i++) {
+            if (changed[i]) {
+                changedPairs++;
+                if (delta != 0) {
+                    joinedUsersDeltas.merge(pairs.get(i).getRoomId(), delta, Integer::sum);
                 }
-        );
+            }
+        }
+        joinedUsersDeltas.forEach(roomCounterService::addJoinedUsers);
+        return new BulkEnrollmentResult(request.getAction(), pairs.size(), changedPairs, joinedUsersDeltas);
+    }
 
+    private List<EnrollmentPair> distinctPairs(List<EnrollmentPair> enrollments) {
+        if (enrollments == null) {
+            return List.of();
+        }
+        for (EnrollmentPair pair : enrollments) {
+            if (pair == null || pair.getUserId() == null || pair.getRoomId() == null) {
+                throw new InvalidBulkEnrollmentException("every enrollment needs a userId and a roomId");
+            }
+        }
+        return enrollments.stream()
+                .distinct()
+                .sorted(Comparator.comparing(EnrollmentPair::getRoomId).thenComparing(EnrollmentPair::getUserId))
+                .collect(Collectors.toList());
+    }
+
+    // a foreign key violation: reports the unknown users first, then the unknown rooms
+    private RuntimeException notFound(List<EnrollmentPair> pairs, DataIntegrityViolationException cause) {
+        Set<Long> userIds = pairs.stream().map(EnrollmentPair::getUserId).collect(Collectors.toCollection(TreeSet::new));
+        userIds.removeAll(userRepository.findExistingIds(userIds));
+        if (!userIds.isEmpty()) {
+            return new UserNotFoundException("users not found: " + userIds);
+        }
+        Set<Long> roomIds = pairs.stream().map(EnrollmentPair::getRoomId).collect(Collectors.toCollection(TreeSet::new));
+        roomIds.removeAll(roomRepository.findExistingIds(roomIds));
+        if (!roomIds.isEmpty()) {
+            return new RoomNotFoundException("rooms not found: " + roomIds);
+        }
+        return cause;
     }
 
     @Override
@@ -243,7 +371,9 @@ public class UserRoomServiceImp implements UserRoomService {
         Optional<RoomMembership> roomMembership = this.roomMembershipRepository.findByRoomIdAndUserId(roomId, userId);
         roomMembership.ifPresentOrElse(membership -> { // most likely the room membership will exist (with isJoined set to true) , because teh room shown in the UI is Joined by that user
             // STEP 1 :
-            this.roomService.decrementJoinedUsers(roomId); // this function will decrement the number of Joined Users and then broadcast the info via sockets to subscribers.
+            if (membership.getIsJoined()) { // only a joined -> left flip changes the counter (a saved-only membership was never counted)
+                this.roomService.decrementJoinedUsers(roomId); // this function will decrement the number of Joined Users and then broadcast the info via sockets to subscribers.
+            }
             // STEP 2: [FUTURE] Insert your FlagSubmission clearing logic HERE
             // This is where you'll add the call to clear flag submissions
             this.flagSubmissionService.deleteSubmissionsForUserAndRoom(userId, roomId);
@@ -251,6 +381,7 @@ public class UserRoomServiceImp implements UserRoomService {
             if (membership.getIsSaved()) { // if the room is Saved
                 membership.setIsJoined(false); // we set is Joined to False
                 membership.setChallengesCompleted(0);
+                membership.setCompletedAt(null);
                 this.roomMembershipRepository.save(membership);
             } else { // if the room is not saved, we delete the room membership
                 this.roomMembershipRepository.delete(membership);
@@ -269,7 +400,7 @@ public class UserRoomServiceImp implements UserRoomService {
 
         Map<String, Boolean> status = new HashMap<>();
 
-        Optional<RoomMembership> membership = roomMembershipRepository.findByRoomIdAndUserId(roomId, userId);
+        Optional<MembershipOverlay> membership = roomMembershipRepository.findMembershipOverlay(userId, roomId); // projection, no entity and no lock
 
         if (membership.isPresent()) {
             status.put("isJoined", membership.get().getIsJoined());
@@ -0,0 +1,76 @@
+package com.falcon.falcon.services.ratelimit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single node token buckets held in a ConcurrentHashMap.
+ *
+ * Each bucket is refilled lazily from the elapsed time when it is used; a request locks only its own buckets.
+ * Buckets back to full capacity carry no information and are removed by evictIdleBuckets.
+ */
+public class InMemoryTokenBucketRateLimiter implements TokenBucketRateLimiter {
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public long tryAcquire(List<Limit> limits) {
+        long now = System.nanoTime();
+        List<Bucket> taken = new ArrayList<>(limits.size());
+        for (Limit limit : limits) {
+            Bucket bucket = buckets.computeIfAbsent(limit.getKey(), key -> new Bucket(limit, now));
+            long waitMs = bucket.tryTake(now);
+            if (waitMs > 0) {
+                taken.forEach(Bucket::giveBack); // all or nothing
+                return waitMs;
+            }
+            taken.add(bucket);
+        }
+        return 0;
+    }
+
+    // drops the buckets that refilled completely, they behave exactly like a new one
+    @Override
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static final class Bucket {
+        private final long capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long updatedAtNanos;
+
+        private Bucket(Limit limit, long now) {
+            this.capacity = limit.getCapacity();
+            this.refillPerNano = limit.getRefillPerSecond() / 1_000_000_000d;
+            this.tokens = capacity;
+            this.updatedAtNanos = now;
+        }
+
+        private synchronized long tryTake(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return refillPerNano > 0 ? Math.max(1, (long) Math.ceil((1 - tokens) / refillPerNano / 1_000_000d)) : Long.MAX_VALUE;
+        }
+
+        private synchronized void giveBack() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        private synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - updatedAtNanos) * refillPerNano);
+            updatedAtNanos = now;
+        }
+    }
+}
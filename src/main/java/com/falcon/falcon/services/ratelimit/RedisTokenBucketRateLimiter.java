@@ -0,0 +1,54 @@
+package com.falcon.falcon.services.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cluster wide token buckets stored in Redis.
+ *
+ * All the buckets of a request are checked and consumed by one Lua script (redis/token-bucket.lua), atomically and
+ * in one round trip, with the Redis server clock so the nodes do not need synchronized clocks.
+ * Arguments and result go through String serializers: the JSON value serializer of the shared RedisTemplate
+ * would quote the numbers the script reads.
+ * When Redis cannot be reached the request is let through (fail open): a limiter outage must not stop submissions.
+ */
+public class RedisTokenBucketRateLimiter implements TokenBucketRateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(RedisTokenBucketRateLimiter.class);
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/token-bucket.lua"), Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public RedisTokenBucketRateLimiter(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long tryAcquire(List<Limit> limits) {
+        List<String> keys = new ArrayList<>(limits.size());
+        Object[] args = new Object[limits.size() * 2];
+        for (int i = 0; i < limits.size(); i++) {
+            Limit limit = limits.get(i);
+            keys.add(limit.getKey());
+            args[2 * i] = Long.toString(limit.getCapacity());
+            args[2 * i + 1] = Double.toString(limit.getRefillPerSecond());
+        }
+        try {
+            Long waitMs = redisTemplate.execute(TOKEN_BUCKET_SCRIPT, new StringRedisSerializer(),
+                    new GenericToStringSerializer<>(Long.class), keys, args);
+            return waitMs != null ? waitMs : 0;
+        } catch (DataAccessException e) {
+            logger.warn("Rate limiter unavailable, letting the request through: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.falcon.falcon.services.ratelimit;
+
+import java.util.List;
+
+/**
+ * Token buckets: each key holds up to capacity tokens and regains refillPerSecond tokens per second.
+ * A request takes one token from every bucket it is limited by, or from none of them.
+ */
+public interface TokenBucketRateLimiter {
+
+    /**
+     * @return 0 when a token was taken from every bucket, otherwise the milliseconds to wait before all of them have one
+     */
+    long tryAcquire(List<Limit> limits);
+
+    // forgets the buckets that are full again (nothing to do when the store expires them itself)
+    default void evictIdleBuckets() {
+    }
+
+    final class Limit {
+        private final String key;
+        private final long capacity;
+        private final double refillPerSecond;
+
+        public Limit(String key, long capacity, double refillPerSecond) {
+            this.key = key;
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.falcon.falcon.services.support;
+
+import com.falcon.falcon.dtos.challenge.ChallengeFlagRow;
+import com.falcon.falcon.exceptions.challengeExceptions.ChallengeNotFoundException;
+import com.falcon.falcon.repositories.ChallengeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory flag verification, keyed by challenge id.
+ *
+ * Each entry keeps the SHA-256 digest of the challenge flag (never the flag itself) and the id of the room that
+ * owns the challenge; it is loaded once with a two column projection and reused by every submission.
+ * A submitted flag is hashed and compared with MessageDigest.isEqual, which takes the same time wherever
+ * the digests differ, so the response time does not leak how much of a guess is right.
+ *
+ * Entries are dropped by ChallengeFlagListener when a challenge is updated or removed. A load that overlaps
+ * an invalidation is used for the current submission but not cached.
+ * The listener only sees the changes made through this node's persistence context: a flag changed on another node
+ * or directly in the database is picked up when the entry expires (challenges.flags.cache-ttl-ms).
+ */
+@Component
+public class FlagVerifier {
+    private final ChallengeRepository challengeRepository;
+    private final Map<Long, FlagEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final long ttlNanos;
+
+    public FlagVerifier(ChallengeRepository challengeRepository,
+                        @Value("${challenges.flags.cache-ttl-ms:60000}") long ttlMs) {
+        this.challengeRepository = challengeRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    /**
+     * @return the room of the challenge and whether the submitted flag is its flag
+     * @throws ChallengeNotFoundException when the challenge does not exist
+     */
+    public Verification verify(Long challengeId, String submittedFlag) throws ChallengeNotFoundException {
+        FlagEntry entry = entry(challengeId);
+        boolean correct = entry.digest != null && submittedFlag != null
+                && MessageDigest.isEqual(entry.digest, sha256(submittedFlag));
+        return new Verification(entry.roomId, correct);
+    }
+
+    public void invalidate(Long challengeId) {
+        invalidations.incrementAndGet();
+        entries.remove(challengeId);
+    }
+
+    private FlagEntry entry(Long challengeId) {
+        FlagEntry entry = entries.get(challengeId);
+        if (entry != null && System.nanoTime() - entry.loadedAtNanos < ttlNanos) {
+            return entry;
+        }
+        long invalidationsBeforeLoad = invalidations.get();
+        ChallengeFlagRow row = challengeRepository.findFlagById(challengeId)
+                .orElseThrow(() -> new ChallengeNotFoundException("Challenge not found with ID: " + challengeId));
+        FlagEntry loaded = new FlagEntry(row.getRoomId(), row.getFlag() != null ? sha256(row.getFlag()) : null, System.nanoTime());
+        if (invalidations.get() == invalidationsBeforeLoad) {
+            entries.put(challengeId, loaded);
+        }
+        return loaded;
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // every Java platform must provide it
+        }
+    }
+
+    private static final class FlagEntry {
+        private final Long roomId;
+        private final byte[] digest;
+        private final long loadedAtNanos;
+
+        private FlagEntry(Long roomId, byte[] digest, long loadedAtNanos) {
+            this.roomId = roomId;
+            this.digest = digest;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    // outcome of one verification: the room that owns the challenge and whether the flag matched
+    public static final class Verification {
+        private final Long roomId;
+        private final boolean correct;
+
+        private Verification(Long roomId, boolean correct) {
+            this.roomId = roomId;
+            this.correct = correct;
+        }
+
+        public Long getRoomId() {
+            return roomId;
+        }
+
+        public boolean isCorrect() {
+            return correct;
+        }
+    }
+}
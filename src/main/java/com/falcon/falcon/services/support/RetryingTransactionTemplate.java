@@ -0,0 +1,77 @@
+package com.falcon.falcon.services.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write in its own transaction and replays it when it loses a concurrency race
+ * (optimistic lock version mismatch, deadlock, lock wait timeout).
+ *
+ * Every attempt is a new transaction with a new persistence context, so the work re-reads the current rows.
+ * Attempts are bounded (transactions.retry.max-attempts) and spaced by a short jittered backoff;
+ * the last failure is rethrown as is.
+ * When a transaction is already active the work joins it and runs once: it cannot be replayed from inside.
+ */
+@Component
+public class RetryingTransactionTemplate {
+    private static final Logger logger = LoggerFactory.getLogger(RetryingTransactionTemplate.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public RetryingTransactionTemplate(PlatformTransactionManager transactionManager,
+                                       @Value("${transactions.retry.max-attempts:3}") int maxAttempts,
+                                       @Value("${transactions.retry.backoff-ms:20}") long backoffMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = backoffMs;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> work.get());
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("Transaction still conflicting after {} attempts, giving up", attempt);
+                    throw e;
+                }
+                logger.debug("Transaction conflict on attempt {}/{}, retrying: {}", attempt, maxAttempts, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    public void executeWithoutResult(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // linear backoff with jitter, so the conflicting writers do not collide again on the same schedule
+    private void backoff(int attempt) {
+        if (backoffMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry the transaction", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.falcon.falcon.services.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// hooks work on the outcome of the current transaction
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    // runs the action once the current transaction commits (or right away when there is no transaction)
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
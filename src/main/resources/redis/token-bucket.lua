@@ -0,0 +1,42 @@
+-- Token buckets, all or nothing: takes one token from every bucket in KEYS or from none of them.
+-- ARGV holds, for each key, its capacity then its refill rate in tokens per second.
+-- Each bucket is a hash {tokens, ts} (ts in milliseconds, Redis server clock) expiring once it would be full again.
+-- Returns 0 when the tokens were taken, otherwise the milliseconds to wait before every bucket has a token.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local tokens = {}
+local wait = 0
+for i, key in ipairs(KEYS) do
+    local capacity = tonumber(ARGV[2 * i - 1])
+    local rate = tonumber(ARGV[2 * i])
+    local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+    local available = tonumber(bucket[1]) or capacity
+    local ts = tonumber(bucket[2]) or now
+    available = math.min(capacity, available + math.max(0, now - ts) * rate / 1000)
+    tokens[i] = available
+    if available < 1 then
+        local missing
+        if rate > 0 then
+            missing = math.ceil((1 - available) * 1000 / rate)
+        else
+            missing = 2147483647
+        end
+        wait = math.max(wait, missing)
+    end
+end
+
+if wait > 0 then
+    return wait
+end
+
+for i, key in ipairs(KEYS) do
+    local capacity = tonumber(ARGV[2 * i - 1])
+    local rate = tonumber(ARGV[2 * i])
+    local left = tokens[i] - 1
+    redis.call('HSET', key, 'tokens', tostring(left), 'ts', tostring(now))
+    if rate > 0 then
+        redis.call('PEXPIRE', key, math.ceil((capacity - left) * 1000 / rate) + 1000)
+    end
+end
+return 0
@@ -0,0 +1,125 @@
+package com.falcon.falcon.operations.search;
+
+import com.falcon.falcon.dtos.catalog.RoomSearchDocument;
+import com.falcon.falcon.repositories.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoomTrigramIndexTest {
+    private RoomRepository roomRepository;
+    private RoomTrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        roomRepository = mock(RoomRepository.class);
+        index = new RoomTrigramIndex(roomRepository, true);
+    }
+
+    private void build(RoomSearchDocument... rooms) {
+        when(roomRepository.findAllSearchDocuments()).thenReturn(new ArrayList<>(List.of(rooms)));
+        index.rebuild();
+    }
+
+    @Test
+    void matchesTheTermInTheTitleOrTheDescriptionIgnoringCase() {
+        build(new RoomSearchDocument(1L, "SQL Injection Basics", "Dump a database through a login form"),
+                new RoomSearchDocument(2L, "Buffer Overflows", "Smash the stack, then write your first SQL-free exploit"),
+                new RoomSearchDocument(3L, "Web Recon", "Enumerate subdomains"));
+
+        assertEquals(Set.of(1L, 2L), index.search("  sql "));
+        assertEquals(Set.of(1L), index.search("LOGIN FORM"));
+        assertEquals(Set.of(), index.search("kerberos"));
+    }
+
+    @Test
+    void verifiesThatTheTrigramsOfACandidateAreContiguous() {
+        // both rooms hold every trigram of "abcd", only the first one holds the term
+        build(new RoomSearchDocument(1L, "xabcdx", null), new RoomSearchDocument(2L, "abc bcd", null));
+
+        assertEquals(Set.of(1L), index.search("abcd"));
+    }
+
+    @Test
+    void scansTheTextsForTermsShorterThanATrigram() {
+        build(new RoomSearchDocument(1L, "XSS", "reflected"), new RoomSearchDocument(2L, "CSRF", "forged requests"));
+
+        assertEquals(Set.of(1L, 2L), index.search("s"));
+        assertEquals(Set.of(2L), index.search("rf"));
+    }
+
+    @Test
+    void doesNotMatchAcrossTheTitleAndTheDescription() {
+        build(new RoomSearchDocument(1L, "foo", "bar"));
+
+        assertEquals(Set.of(), index.search("foobar"));
+        assertEquals(Set.of(), index.search("o b"));
+    }
+
+    @Test
+    void indexesACreatedRoomOnceReady() {
+        build(new RoomSearchDocument(1L, "Linux Privilege Escalation", "sudo misconfigurations"));
+        long version = index.getVersion();
+
+        index.index(2L, "Windows Privilege Escalation", "unquoted service paths");
+
+        assertEquals(Set.of(1L, 2L), index.search("privilege"));
+        assertEquals(Set.of(2L), index.search("unquoted"));
+        assertTrue(index.getVersion() > version);
+    }
+
+    @Test
+    void reindexingARoomForgetsItsPreviousText() {
+        build(new RoomSearchDocument(1L, "Old title", "old description"));
+
+        index.index(1L, "New title", "fresh description");
+
+        assertEquals(Set.of(), index.search("old"));
+        assertEquals(Set.of(1L), index.search("fresh"));
+    }
+
+    @Test
+    void keepsTheRoomsCreatedWhileTheStartupBuildReadsTheCatalog() {
+        // room 2 commits after the build read the rows (it is not in them) but before the index is swapped in
+        when(roomRepository.findAllSearchDocuments()).thenAnswer(invocation -> {
+            index.index(2L, "Active Directory", "kerberoasting");
+            return new ArrayList<>(List.of(new RoomSearchDocument(1L, "Pivoting", "ssh tunnels")));
+        });
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(Set.of(2L), index.search("kerberoast"));
+        assertEquals(Set.of(1L), index.search("tunnel"));
+        verify(roomRepository, never()).findIdsByTextContaining(anyString());
+    }
+
+    @Test
+    void searchesTheDatabaseUntilTheIndexIsBuilt() {
+        when(roomRepository.findIdsByTextContaining("%50!% off!_now!!%")).thenReturn(List.of(4L));
+
+        assertFalse(index.isReady());
+        assertEquals(Set.of(4L), index.search(" 50% OFF_NOW! "));
+    }
+
+    @Test
+    void searchesTheDatabaseWhenDisabled() {
+        RoomTrigramIndex disabled = new RoomTrigramIndex(roomRepository, false);
+        when(roomRepository.findIdsByTextContaining("%recon%")).thenReturn(List.of(9L));
+
+        disabled.rebuild();
+        long version = disabled.getVersion();
+        disabled.index(9L, "Recon", null);
+
+        assertFalse(disabled.isReady());
+        assertEquals(Set.of(9L), disabled.search("Recon"));
+        assertTrue(disabled.getVersion() > version, "a created room must outdate the results read from the database");
+        verify(roomRepository, never()).findAllSearchDocuments();
+    }
+}
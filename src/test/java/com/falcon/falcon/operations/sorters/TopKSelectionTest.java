@@ -0,0 +1,65 @@
+package com.falcon.falcon.operations.sorters;
+
+import com.falcon.falcon.dtos.RoomDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKSelectionTest {
+    private static final Comparator<RoomDTO> MOST_USERS = Comparator.comparingInt(RoomDTO::getTotalJoinedUsers).reversed();
+
+    private static RoomDTO room(long id, int joinedUsers) {
+        return RoomDTO.builder().id(id).totalJoinedUsers(joinedUsers).build();
+    }
+
+    private static List<Long> ids(List<RoomDTO> rooms) {
+        return rooms.stream().map(RoomDTO::getId).toList();
+    }
+
+    @Test
+    void returnsThePrefixOfAStableFullSort() {
+        Random random = new Random(7);
+        for (int run = 0; run < 200; run++) {
+            List<RoomDTO> rooms = new ArrayList<>();
+            int size = 1 + random.nextInt(60);
+            for (long id = 0; id < size; id++) {
+                rooms.add(room(id, random.nextInt(5))); // few distinct values, many ties
+            }
+            int k = 1 + random.nextInt(size);
+
+            List<RoomDTO> sorted = new ArrayList<>(rooms);
+            sorted.sort(MOST_USERS);
+
+            assertEquals(ids(sorted.subList(0, k)), ids(TopKSelection.topK(rooms, MOST_USERS, k)), "size " + size + ", k " + k);
+        }
+    }
+
+    @Test
+    void keepsTheInputOrderOfTiedRooms() {
+        List<RoomDTO> rooms = List.of(room(1, 3), room(2, 9), room(3, 3), room(4, 3), room(5, 9));
+
+        assertEquals(List.of(2L, 5L, 1L, 3L), ids(TopKSelection.topK(rooms, MOST_USERS, 4)));
+    }
+
+    @Test
+    void sortsAllTheRoomsWhenTheLimitCoversTheList() {
+        List<RoomDTO> rooms = List.of(room(1, 1), room(2, 5), room(3, 3));
+
+        assertEquals(List.of(2L, 3L, 1L), ids(TopKSelection.topK(rooms, MOST_USERS, 3)));
+        assertEquals(List.of(2L, 3L, 1L), ids(TopKSelection.topK(rooms, MOST_USERS, 10)));
+        assertEquals(List.of(1L, 2L, 3L), ids(rooms), "the input list is left untouched");
+    }
+
+    @Test
+    void returnsNoRoomForANonPositiveLimit() {
+        List<RoomDTO> rooms = List.of(room(1, 1), room(2, 5));
+
+        assertTrue(TopKSelection.topK(rooms, MOST_USERS, 0).isEmpty());
+        assertTrue(TopKSelection.topK(rooms, MOST_USERS, -3).isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package com.falcon.falcon.repositories;
+
+import com.falcon.falcon.dtos.RoomFilterCriteria.SortBy;
+import com.falcon.falcon.dtos.catalog.RoomCatalogRow;
+import com.falcon.falcon.enums.Complexity;
+import com.falcon.falcon.exceptions.roomExceptions.InvalidCatalogCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCursorCodecTest {
+
+    private static RoomCatalogRow row(long id, LocalDateTime createdAt, int joinedUsers, Complexity complexity, int estimatedTime) {
+        RoomCatalogRow row = new RoomCatalogRow();
+        row.setId(id);
+        row.setCreatedAt(createdAt);
+        row.setTotalJoinedUsers(joinedUsers);
+        row.setComplexity(complexity);
+        row.setEstimatedTime(estimatedTime);
+        return row;
+    }
+
+    @Test
+    void decodesTheSortKeyValuesAndTheIdOfTheEncodedRow() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_000_000);
+        List<SortBy> sortKeys = List.of(SortBy.NEWEST, SortBy.MOST_USERS, SortBy.COMPLEXITY, SortBy.ESTIMATED_TIME);
+
+        String cursor = CatalogCursorCodec.encode(row(42L, createdAt, 17, Complexity.HARD, 90), sortKeys);
+
+        assertEquals(List.of(createdAt, 17, 2, 90, 42L), CatalogCursorCodec.decode(cursor, sortKeys));
+    }
+
+    @Test
+    void encodesOnlyTheIdWithoutSortKeys() {
+        String cursor = CatalogCursorCodec.encode(row(7L, null, 0, null, 0), List.of());
+
+        assertEquals(List.of(7L), CatalogCursorCodec.decode(cursor, List.of()));
+    }
+
+    @Test
+    void ranksAMissingComplexityAfterTheKnownOnes() {
+        String cursor = CatalogCursorCodec.encode(row(1L, null, 0, null, 0), List.of(SortBy.COMPLEXITY));
+
+        assertEquals(List.of(3, 1L), CatalogCursorCodec.decode(cursor, List.of(SortBy.COMPLEXITY)));
+    }
+
+    @Test
+    void producesAnUnpaddedUrlSafeCursor() {
+        String cursor = CatalogCursorCodec.encode(row(Long.MAX_VALUE, LocalDateTime.of(2024, 1, 1, 0, 0), 1, Complexity.EASY, 1),
+                List.of(SortBy.NEWEST, SortBy.MOST_USERS));
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+    }
+
+    @Test
+    void rejectsACursorProducedForOtherSortKeys() {
+        String cursor = CatalogCursorCodec.encode(row(5L, null, 3, Complexity.EASY, 10), List.of(SortBy.MOST_USERS));
+
+        InvalidCatalogCursorException exception = assertThrows(InvalidCatalogCursorException.class,
+                () -> CatalogCursorCodec.decode(cursor, List.of(SortBy.MOST_USERS, SortBy.ESTIMATED_TIME)));
+        assertEquals("cursor does not match the requested sort order", exception.getMessage());
+    }
+
+    @Test
+    void rejectsACursorThatIsNotBase64() {
+        assertThrows(InvalidCatalogCursorException.class,
+                () -> CatalogCursorCodec.decode("not a cursor!", List.of(SortBy.NEWEST)));
+    }
+
+    @Test
+    void rejectsACursorWithValuesOfTheWrongType() {
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("yesterday|12".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidCatalogCursorException.class, () -> CatalogCursorCodec.decode(forged, List.of(SortBy.NEWEST)));
+        assertThrows(InvalidCatalogCursorException.class, () -> CatalogCursorCodec.decode(forged, List.of(SortBy.MOST_USERS)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.falcon.falcon.repositories;
+
+import com.falcon.falcon.dtos.enrollment.EnrollmentPair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoomMembershipBatchRepositoryImplTest {
+    private static final List<EnrollmentPair> PAIRS = List.of(
+            new EnrollmentPair(1L, 10L), new EnrollmentPair(2L, 10L), new EnrollmentPair(3L, 10L));
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private RoomMembershipBatchRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        repository = new RoomMembershipBatchRepositoryImpl(jdbcTemplate);
+    }
+
+    @Test
+    void readsTheUpsertAffectedRowsAsChangedPairs() {
+        // inserted, existing row changed, left as is
+        when(jdbcTemplate.batchUpdate(eq(RoomMembershipRepository.UPSERT_JOINED), any(SqlParameterSource[].class)))
+                .thenReturn(new int[]{1, 2, 0});
+
+        assertArrayEquals(new boolean[]{true, true, false}, repository.batchUpsertJoined(PAIRS));
+    }
+
+    @Test
+    void bindsOnePairPerBatchEntry() {
+        List<SqlParameterSource[]> batches = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(RoomMembershipRepository.UPSERT_SAVED), any(SqlParameterSource[].class)))
+                .thenAnswer(invocation -> {
+                    batches.add(invocation.getArgument(1));
+                    return new int[]{0, 0, 1};
+                });
+
+        assertArrayEquals(new boolean[]{false, false, true}, repository.batchUpsertSaved(PAIRS));
+        SqlParameterSource[] parameters = batches.get(0);
+        assertEquals(3, parameters.length);
+        assertEquals(3L, parameters[2].getValue("userId"));
+        assertEquals(10L, parameters[2].getValue("roomId"));
+    }
+
+    @Test
+    void refusesToGuessWhenTheDriverDoesNotReportTheCounts() {
+        when(jdbcTemplate.batchUpdate(eq(RoomMembershipRepository.UPSERT_JOINED), any(SqlParameterSource[].class)))
+                .thenReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+
+        assertThrows(IllegalStateException.class, () -> repository.batchUpsertJoined(PAIRS));
+    }
+
+    @Test
+    void leavesAPairWhenItsMembershipIsUpdatedOrDeleted() {
+        List<String> statements = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            statements.add(sql);
+            if (sql.startsWith("UPDATE")) {
+                return new int[]{1, 0, 0}; // joined and saved: kept as saved
+            }
+            if (sql.startsWith("DELETE FROM room_membership")) {
+                return new int[]{0, 1, 0}; // joined only: deleted
+            }
+            return new int[]{4, 0, 0}; // submissions of the joined pairs
+        });
+
+        assertArrayEquals(new boolean[]{true, true, false}, repository.batchLeave(PAIRS));
+        assertEquals(3, statements.size());
+        assertTrue(statements.get(0).startsWith("DELETE fs FROM flag_submission"),
+                "submissions are deleted while the memberships still tell which pairs are joined");
+    }
+}
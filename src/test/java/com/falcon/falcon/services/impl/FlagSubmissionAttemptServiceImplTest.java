@@ -0,0 +1,122 @@
+package com.falcon.falcon.services.impl;
+
+import com.falcon.falcon.entities.FlagSubmissionAttempt;
+import com.falcon.falcon.repositories.FlagSubmissionAttemptRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FlagSubmissionAttemptServiceImplTest {
+    private static final Long USER_ID = 3L;
+    private static final Long CHALLENGE_ID = 11L;
+
+    private FlagSubmissionAttemptRepository attemptRepository;
+    private PlatformTransactionManager transactionManager;
+    private List<List<FlagSubmissionAttempt>> batches;
+
+    @BeforeEach
+    void setUp() {
+        attemptRepository = mock(FlagSubmissionAttemptRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        batches = new ArrayList<>();
+        doAnswer(invocation -> {
+            batches.add(new ArrayList<>(invocation.getArgument(0))); // the service reuses its batch list
+            return null;
+        }).when(attemptRepository).batchInsert(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void buffersTheAttemptsUntilTheFlush() {
+        FlagSubmissionAttemptServiceImpl service = new FlagSubmissionAttemptServiceImpl(attemptRepository, transactionManager, 100, 10);
+
+        service.record(USER_ID, CHALLENGE_ID, "FLAG{guess}", false);
+        service.record(USER_ID, CHALLENGE_ID, "FLAG{right}", true);
+        verify(attemptRepository, never()).batchInsert(anyList());
+
+        assertEquals(2, service.flushPendingAttempts());
+        FlagSubmissionAttempt attempt = batches.get(0).get(0);
+        assertNull(attempt.getId());
+        assertEquals(USER_ID, attempt.getUserId());
+        assertEquals(CHALLENGE_ID, attempt.getChallengeId());
+        assertEquals("FLAG{guess}", attempt.getSubmittedFlag());
+        assertFalse(attempt.getIsCorrect());
+        assertNotNull(attempt.getAttemptedAt());
+        assertTrue(batches.get(0).get(1).getIsCorrect());
+        assertEquals(0, service.flushPendingAttempts());
+    }
+
+    @Test
+    void logsAnAttemptOnlyOnceItsSubmissionCommitted() {
+        FlagSubmissionAttemptServiceImpl service = new FlagSubmissionAttemptServiceImpl(attemptRepository, transactionManager, 100, 10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.record(USER_ID, CHALLENGE_ID, "FLAG{guess}", false);
+        assertEquals(0, service.flushPendingAttempts(), "a submission that is rolled back or replayed is not logged");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, service.flushPendingAttempts());
+    }
+
+    @Test
+    void flushesInBatchesOfTheConfiguredSize() {
+        FlagSubmissionAttemptServiceImpl service = new FlagSubmissionAttemptServiceImpl(attemptRepository, transactionManager, 100, 2);
+        for (int i = 0; i < 5; i++) {
+            service.record(USER_ID, CHALLENGE_ID, "FLAG{" + i + "}", false);
+        }
+
+        assertEquals(5, service.flushPendingAttempts());
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        verify(transactionManager, times(3)).getTransaction(any());
+    }
+
+    @Test
+    void writesTheAttemptInItsOwnTransactionWhenTheBufferIsFull() {
+        FlagSubmissionAttemptServiceImpl service = new FlagSubmissionAttemptServiceImpl(attemptRepository, transactionManager, 1, 10);
+
+        service.record(USER_ID, CHALLENGE_ID, "FLAG{queued}", false);
+        service.record(USER_ID, CHALLENGE_ID, "FLAG{inline}", false);
+
+        assertEquals(1, batches.size());
+        assertEquals("FLAG{inline}", batches.get(0).get(0).getSubmittedFlag());
+        verify(transactionManager).getTransaction(
+                argThat(definition -> definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        assertEquals(1, service.flushPendingAttempts());
+    }
+
+    @Test
+    void dropsABatchThatCannotBeWritten() {
+        FlagSubmissionAttemptServiceImpl service = new FlagSubmissionAttemptServiceImpl(attemptRepository, transactionManager, 100, 2);
+        doThrow(new DataAccessResourceFailureException("connection lost")).doAnswer(invocation -> {
+            batches.add(new ArrayList<>(invocation.getArgument(0)));
+            return null;
+        }).when(attemptRepository).batchInsert(anyList());
+        for (int i = 0; i < 3; i++) {
+            service.record(USER_ID, CHALLENGE_ID, "FLAG{" + i + "}", false);
+        }
+
+        assertEquals(1, service.flushPendingAttempts());
+
+        assertEquals("FLAG{2}", batches.get(0).get(0).getSubmittedFlag());
+        verify(transactionManager).rollback(any());
+        assertEquals(0, service.flushPendingAttempts(), "the failed batch is not retried");
+    }
+}
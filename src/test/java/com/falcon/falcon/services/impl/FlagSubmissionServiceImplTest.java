@@ -0,0 +1,94 @@
+package com.falcon.falcon.services.impl;
+
+import com.falcon.falcon.dtos.challenge.ChallengeFlagRow;
+import com.falcon.falcon.exceptions.challengeExceptions.ChallengeNotFoundException;
+import com.falcon.falcon.exceptions.userExceptions.UserNotFoundException;
+import com.falcon.falcon.repositories.ChallengeRepository;
+import com.falcon.falcon.repositories.FlagSubmissionRepository;
+import com.falcon.falcon.repositories.RoomMembershipRepository;
+import com.falcon.falcon.repositories.UserRepository;
+import com.falcon.falcon.services.FlagSubmissionAttemptService;
+import com.falcon.falcon.services.SolveEventService;
+import com.falcon.falcon.services.support.FlagVerifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FlagSubmissionServiceImplTest {
+    private static final Long USER_ID = 3L;
+    private static final Long CHALLENGE_ID = 12L;
+    private static final Long ROOM_ID = 4L;
+    private static final String FLAG = "FLAG{s3cr3t}";
+
+    private ChallengeRepository challengeRepository;
+    private UserRepository userRepository;
+    private FlagSubmissionRepository flagSubmissionRepository;
+    private SolveEventService solveEventService;
+    private FlagSubmissionServiceImpl flagSubmissionService;
+
+    @BeforeEach
+    void setUp() {
+        challengeRepository = mock(ChallengeRepository.class);
+        userRepository = mock(UserRepository.class);
+        flagSubmissionRepository = mock(FlagSubmissionRepository.class);
+        solveEventService = mock(SolveEventService.class);
+        when(challengeRepository.findFlagById(CHALLENGE_ID)).thenReturn(Optional.of(new ChallengeFlagRow(ROOM_ID, FLAG)));
+        flagSubmissionService = new FlagSubmissionServiceImpl(challengeRepository, userRepository, flagSubmissionRepository,
+                mock(RoomMembershipRepository.class), new FlagVerifier(challengeRepository, 60_000), solveEventService,
+                mock(FlagSubmissionAttemptService.class), mock(PlatformTransactionManager.class), 1000);
+    }
+
+    @Test
+    void publishesTheSolveWhenThisSubmissionCreatedTheSolvedRow() {
+        when(flagSubmissionRepository.insertSolved(eq(USER_ID), eq(CHALLENGE_ID), eq(FLAG), any())).thenReturn(1);
+
+        assertTrue(flagSubmissionService.processSubmission(USER_ID, CHALLENGE_ID, FLAG));
+
+        verify(solveEventService).publish(USER_ID, ROOM_ID, CHALLENGE_ID);
+    }
+
+    @Test
+    void doesNotCountAChallengeSolvedByAConcurrentSubmission() {
+        // both requests saw no submission, the other one inserted the row first
+        when(flagSubmissionRepository.insertSolved(eq(USER_ID), eq(CHALLENGE_ID), eq(FLAG), any())).thenReturn(0);
+
+        assertTrue(flagSubmissionService.processSubmission(USER_ID, CHALLENGE_ID, FLAG));
+
+        verify(solveEventService, never()).publish(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void reportsAnUnknownUserFromTheForeignKeyViolation() {
+        when(flagSubmissionRepository.insertSolved(eq(USER_ID), eq(CHALLENGE_ID), eq(FLAG), any())).thenThrow(new DataIntegrityViolationException("fk_user"));
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> flagSubmissionService.processSubmission(USER_ID, CHALLENGE_ID, FLAG));
+        verify(solveEventService, never()).publish(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void reportsAChallengeDeletedWhileItsFlagWasCached() {
+        when(flagSubmissionRepository.insertSolved(eq(USER_ID), eq(CHALLENGE_ID), eq(FLAG), any())).thenThrow(new DataIntegrityViolationException("fk_challenge"));
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        when(challengeRepository.existsById(CHALLENGE_ID)).thenReturn(false);
+
+        assertThrows(ChallengeNotFoundException.class, () -> flagSubmissionService.processSubmission(USER_ID, CHALLENGE_ID, FLAG));
+    }
+
+    @Test
+    void rethrowsAViolationWhenTheUserAndTheChallengeExist() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("other constraint");
+        when(flagSubmissionRepository.insertSolved(eq(USER_ID), eq(CHALLENGE_ID), eq(FLAG), any())).thenThrow(violation);
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        when(challengeRepository.existsById(CHALLENGE_ID)).thenReturn(true);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> flagSubmissionService.processSubmission(USER_ID, CHALLENGE_ID, FLAG)));
+    }
+}
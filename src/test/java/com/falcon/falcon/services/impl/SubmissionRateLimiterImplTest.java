@@ -0,0 +1,72 @@
+package com.falcon.falcon.services.impl;
+
+import com.falcon.falcon.exceptions.challengeExceptions.SubmissionRateLimitExceededException;
+import com.falcon.falcon.services.ratelimit.InMemoryTokenBucketRateLimiter;
+import com.falcon.falcon.services.ratelimit.TokenBucketRateLimiter;
+import com.falcon.falcon.services.ratelimit.TokenBucketRateLimiter.Limit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SubmissionRateLimiterImplTest {
+
+    @Test
+    void limitsEverySubmissionByUserAndByUserAndChallenge() {
+        TokenBucketRateLimiter buckets = mock(TokenBucketRateLimiter.class);
+        List<List<Limit>> requested = new ArrayList<>();
+        when(buckets.tryAcquire(anyList())).thenAnswer(invocation -> {
+            requested.add(invocation.getArgument(0));
+            return 0L;
+        });
+
+        new SubmissionRateLimiterImpl(buckets, true, 30, 1, 5, 0.2).checkSubmission(3L, 11L);
+
+        List<Limit> limits = requested.get(0);
+        assertEquals(2, limits.size());
+        assertEquals("ratelimit:submit:{3}", limits.get(0).getKey());
+        assertEquals(30, limits.get(0).getCapacity());
+        assertEquals(1, limits.get(0).getRefillPerSecond(), 0);
+        assertEquals("ratelimit:submit:{3}:challenge:11", limits.get(1).getKey());
+        assertEquals(5, limits.get(1).getCapacity());
+        assertEquals(0.2, limits.get(1).getRefillPerSecond(), 0);
+    }
+
+    @Test
+    void rejectsWithTheWaitRoundedUpToSeconds() {
+        TokenBucketRateLimiter buckets = mock(TokenBucketRateLimiter.class);
+        when(buckets.tryAcquire(anyList())).thenReturn(1500L, 1L, 4000L);
+        SubmissionRateLimiterImpl limiter = new SubmissionRateLimiterImpl(buckets, true, 30, 1, 5, 0.2);
+
+        assertEquals(2, assertThrows(SubmissionRateLimitExceededException.class, () -> limiter.checkSubmission(3L, 11L)).getRetryAfterSeconds());
+        assertEquals(1, assertThrows(SubmissionRateLimitExceededException.class, () -> limiter.checkSubmission(3L, 11L)).getRetryAfterSeconds());
+        assertEquals(4, assertThrows(SubmissionRateLimitExceededException.class, () -> limiter.checkSubmission(3L, 11L)).getRetryAfterSeconds());
+    }
+
+    @Test
+    void doesNotTouchTheBucketsWhenDisabled() {
+        TokenBucketRateLimiter buckets = mock(TokenBucketRateLimiter.class);
+
+        new SubmissionRateLimiterImpl(buckets, false, 30, 1, 5, 0.2).checkSubmission(3L, 11L);
+
+        verifyNoInteractions(buckets);
+    }
+
+    @Test
+    void stopsBruteForcingOneChallengeButNotTheOthers() {
+        SubmissionRateLimiterImpl limiter = new SubmissionRateLimiterImpl(new InMemoryTokenBucketRateLimiter(), true, 30, 1, 5, 0.2);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.checkSubmission(3L, 11L);
+        }
+
+        SubmissionRateLimitExceededException exception = assertThrows(SubmissionRateLimitExceededException.class,
+                () -> limiter.checkSubmission(3L, 11L));
+        assertEquals(5, exception.getRetryAfterSeconds()); // 0.2 token per second
+        limiter.checkSubmission(3L, 12L);
+        limiter.checkSubmission(4L, 11L);
+    }
+}
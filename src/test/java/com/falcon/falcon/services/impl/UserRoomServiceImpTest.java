@@ -0,0 +1,106 @@
+package com.falcon.falcon.services.impl;
+
+import com.falcon.falcon.exceptions.roomExceptions.RoomNotFoundException;
+import com.falcon.falcon.exceptions.userExceptions.UserNotFoundException;
+import com.falcon.falcon.mappers.ChallengeMapper;
+import com.falcon.falcon.mappers.RoomMapper;
+import com.falcon.falcon.repositories.FlagSubmissionRepository;
+import com.falcon.falcon.repositories.RoomMembershipRepository;
+import com.falcon.falcon.repositories.RoomRepository;
+import com.falcon.falcon.repositories.UserRepository;
+import com.falcon.falcon.services.FlagSubmissionService;
+import com.falcon.falcon.services.RoomCounterService;
+import com.falcon.falcon.services.RoomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserRoomServiceImpTest {
+    private static final Long USER_ID = 3L;
+    private static final Long ROOM_ID = 8L;
+
+    private UserRepository userRepository;
+    private RoomRepository roomRepository;
+    private RoomMembershipRepository roomMembershipRepository;
+    private RoomService roomService;
+    private UserRoomServiceImp userRoomService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        roomRepository = mock(RoomRepository.class);
+        roomMembershipRepository = mock(RoomMembershipRepository.class);
+        roomService = mock(RoomService.class);
+        userRoomService = new UserRoomServiceImp(userRepository, roomRepository, roomMembershipRepository,
+                mock(FlagSubmissionRepository.class), new RoomMapper(), new ChallengeMapper(), roomService,
+                mock(FlagSubmissionService.class), mock(RoomCounterService.class), 5000);
+    }
+
+    @Test
+    void countsAJoinWhenTheMembershipIsInserted() {
+        when(roomMembershipRepository.upsertJoined(USER_ID, ROOM_ID)).thenReturn(1);
+
+        userRoomService.joinRoom(USER_ID, ROOM_ID);
+
+        verify(roomService).incrementJoinedUsers(ROOM_ID);
+    }
+
+    @Test
+    void countsAJoinWhenASavedMembershipBecomesJoined() {
+        when(roomMembershipRepository.upsertJoined(USER_ID, ROOM_ID)).thenReturn(2);
+
+        userRoomService.joinRoom(USER_ID, ROOM_ID);
+
+        verify(roomService).incrementJoinedUsers(ROOM_ID);
+    }
+
+    @Test
+    void doesNotCountARoomThatWasAlreadyJoined() {
+        when(roomMembershipRepository.upsertJoined(USER_ID, ROOM_ID)).thenReturn(0);
+
+        userRoomService.joinRoom(USER_ID, ROOM_ID);
+
+        verify(roomService, never()).incrementJoinedUsers(anyLong());
+    }
+
+    @Test
+    void savingARoomNeverMovesTheJoinedUsersCounter() {
+        when(roomMembershipRepository.upsertSaved(USER_ID, ROOM_ID)).thenReturn(1);
+
+        userRoomService.saveRoom(USER_ID, ROOM_ID);
+
+        verify(roomMembershipRepository).upsertSaved(USER_ID, ROOM_ID);
+        verify(roomService, never()).incrementJoinedUsers(anyLong());
+    }
+
+    @Test
+    void reportsAnUnknownUserFromTheForeignKeyViolation() {
+        when(roomMembershipRepository.upsertJoined(USER_ID, ROOM_ID)).thenThrow(new DataIntegrityViolationException("fk_user"));
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> userRoomService.joinRoom(USER_ID, ROOM_ID));
+        verify(roomService, never()).incrementJoinedUsers(anyLong());
+    }
+
+    @Test
+    void reportsAnUnknownRoomFromTheForeignKeyViolation() {
+        when(roomMembershipRepository.upsertSaved(USER_ID, ROOM_ID)).thenThrow(new DataIntegrityViolationException("fk_room"));
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        when(roomRepository.existsById(ROOM_ID)).thenReturn(false);
+
+        assertThrows(RoomNotFoundException.class, () -> userRoomService.saveRoom(USER_ID, ROOM_ID));
+    }
+
+    @Test
+    void rethrowsAViolationWhenTheUserAndTheRoomExist() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("other constraint");
+        when(roomMembershipRepository.upsertJoined(USER_ID, ROOM_ID)).thenThrow(violation);
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        when(roomRepository.existsById(ROOM_ID)).thenReturn(true);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> userRoomService.joinRoom(USER_ID, ROOM_ID)));
+    }
+}
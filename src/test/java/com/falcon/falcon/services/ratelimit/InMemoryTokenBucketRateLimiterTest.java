@@ -0,0 +1,109 @@
+package com.falcon.falcon.services.ratelimit;
+
+import com.falcon.falcon.services.ratelimit.TokenBucketRateLimiter.Limit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTokenBucketRateLimiterTest {
+    private final InMemoryTokenBucketRateLimiter limiter = new InMemoryTokenBucketRateLimiter();
+
+    @Test
+    void grantsTheCapacityThenAsksToWaitForTheNextToken() {
+        List<Limit> limits = List.of(new Limit("user:1", 3, 0.5));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(limits));
+        }
+        long waitMs = limiter.tryAcquire(limits);
+
+        assertTrue(waitMs > 1900 && waitMs <= 2000, "one token every 2 seconds, got " + waitMs);
+    }
+
+    @Test
+    void neverRefillsABucketWithoutRefillRate() {
+        List<Limit> limits = List.of(new Limit("user:1", 1, 0));
+
+        assertEquals(0, limiter.tryAcquire(limits));
+        assertEquals(Long.MAX_VALUE, limiter.tryAcquire(limits));
+    }
+
+    @Test
+    void refillsFromTheElapsedTime() throws InterruptedException {
+        List<Limit> limits = List.of(new Limit("user:1", 1, 1000));
+
+        assertEquals(0, limiter.tryAcquire(limits));
+        Thread.sleep(20); // 20 tokens worth of time, capped at the capacity
+
+        assertEquals(0, limiter.tryAcquire(limits));
+    }
+
+    @Test
+    void keepsOneBucketPerKey() {
+        assertEquals(0, limiter.tryAcquire(List.of(new Limit("user:1", 1, 0))));
+
+        assertEquals(0, limiter.tryAcquire(List.of(new Limit("user:2", 1, 0))));
+        assertTrue(limiter.tryAcquire(List.of(new Limit("user:1", 1, 0))) > 0);
+    }
+
+    @Test
+    void takesATokenFromEveryBucketOrFromNone() {
+        Limit user = new Limit("user:1", 5, 0);
+        Limit challenge = new Limit("user:1:challenge:7", 1, 0);
+
+        assertEquals(0, limiter.tryAcquire(List.of(user, challenge)));
+        assertTrue(limiter.tryAcquire(List.of(user, challenge)) > 0); // the challenge bucket is empty
+
+        // the user bucket got its token back: 4 left
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, limiter.tryAcquire(List.of(user)));
+        }
+        assertTrue(limiter.tryAcquire(List.of(user)) > 0);
+    }
+
+    @Test
+    void evictsOnlyTheBucketsThatRefilledCompletely() {
+        List<Limit> limits = List.of(new Limit("user:1", 1, 0));
+        assertEquals(0, limiter.tryAcquire(limits));
+
+        limiter.evictIdleBuckets();
+
+        assertTrue(limiter.tryAcquire(limits) > 0, "an empty bucket must survive the eviction");
+    }
+
+    @Test
+    void grantsExactlyTheCapacityToConcurrentRequests() throws InterruptedException {
+        List<Limit> limits = List.of(new Limit("user:1", 100, 0));
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (limiter.tryAcquire(limits) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, granted.get());
+    }
+}
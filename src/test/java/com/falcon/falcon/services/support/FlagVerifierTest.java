@@ -0,0 +1,109 @@
+package com.falcon.falcon.services.support;
+
+import com.falcon.falcon.dtos.challenge.ChallengeFlagRow;
+import com.falcon.falcon.exceptions.challengeExceptions.ChallengeNotFoundException;
+import com.falcon.falcon.repositories.ChallengeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FlagVerifierTest {
+    private static final Long CHALLENGE_ID = 12L;
+    private static final Long ROOM_ID = 4L;
+
+    private ChallengeRepository challengeRepository;
+    private FlagVerifier flagVerifier;
+
+    @BeforeEach
+    void setUp() {
+        challengeRepository = mock(ChallengeRepository.class);
+        flagVerifier = new FlagVerifier(challengeRepository, 60_000);
+    }
+
+    private void givenFlag(String flag) {
+        when(challengeRepository.findFlagById(CHALLENGE_ID)).thenReturn(Optional.of(new ChallengeFlagRow(ROOM_ID, flag)));
+    }
+
+    @Test
+    void acceptsTheExactFlagOnly() {
+        givenFlag("FLAG{s3cr3t}");
+
+        FlagVerifier.Verification verification = flagVerifier.verify(CHALLENGE_ID, "FLAG{s3cr3t}");
+        assertTrue(verification.isCorrect());
+        assertEquals(ROOM_ID, verification.getRoomId());
+
+        assertFalse(flagVerifier.verify(CHALLENGE_ID, "flag{s3cr3t}").isCorrect());
+        assertFalse(flagVerifier.verify(CHALLENGE_ID, "FLAG{s3cr3t} ").isCorrect());
+        assertFalse(flagVerifier.verify(CHALLENGE_ID, "").isCorrect());
+        assertFalse(flagVerifier.verify(CHALLENGE_ID, null).isCorrect());
+    }
+
+    @Test
+    void neverAcceptsAFlagForAChallengeWithoutOne() {
+        givenFlag(null);
+
+        FlagVerifier.Verification verification = flagVerifier.verify(CHALLENGE_ID, "anything");
+
+        assertFalse(verification.isCorrect());
+        assertEquals(ROOM_ID, verification.getRoomId());
+    }
+
+    @Test
+    void loadsTheFlagOncePerChallenge() {
+        givenFlag("FLAG{cached}");
+
+        flagVerifier.verify(CHALLENGE_ID, "guess 1");
+        flagVerifier.verify(CHALLENGE_ID, "guess 2");
+        flagVerifier.verify(CHALLENGE_ID, "FLAG{cached}");
+
+        verify(challengeRepository, times(1)).findFlagById(CHALLENGE_ID);
+    }
+
+    @Test
+    void reloadsTheFlagOnceInvalidated() {
+        givenFlag("FLAG{old}");
+        assertTrue(flagVerifier.verify(CHALLENGE_ID, "FLAG{old}").isCorrect());
+
+        givenFlag("FLAG{new}");
+        flagVerifier.invalidate(CHALLENGE_ID);
+
+        assertFalse(flagVerifier.verify(CHALLENGE_ID, "FLAG{old}").isCorrect());
+        assertTrue(flagVerifier.verify(CHALLENGE_ID, "FLAG{new}").isCorrect());
+    }
+
+    @Test
+    void reloadsTheFlagOnceExpired() {
+        FlagVerifier expiringVerifier = new FlagVerifier(challengeRepository, 0);
+        givenFlag("FLAG{one}");
+        assertTrue(expiringVerifier.verify(CHALLENGE_ID, "FLAG{one}").isCorrect());
+
+        givenFlag("FLAG{two}"); // changed on another node, no invalidation reached this one
+
+        assertTrue(expiringVerifier.verify(CHALLENGE_ID, "FLAG{two}").isCorrect());
+        verify(challengeRepository, times(2)).findFlagById(CHALLENGE_ID);
+    }
+
+    @Test
+    void doesNotCacheALoadThatOverlapsAnInvalidation() {
+        when(challengeRepository.findFlagById(CHALLENGE_ID)).thenAnswer(invocation -> {
+            flagVerifier.invalidate(CHALLENGE_ID); // the challenge is updated while its old flag is being read
+            return Optional.of(new ChallengeFlagRow(ROOM_ID, "FLAG{stale}"));
+        });
+
+        assertTrue(flagVerifier.verify(CHALLENGE_ID, "FLAG{stale}").isCorrect());
+        flagVerifier.verify(CHALLENGE_ID, "FLAG{stale}");
+
+        verify(challengeRepository, times(2)).findFlagById(CHALLENGE_ID);
+    }
+
+    @Test
+    void rejectsAnUnknownChallenge() {
+        when(challengeRepository.findFlagById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ChallengeNotFoundException.class, () -> flagVerifier.verify(99L, "FLAG{x}"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.falcon.falcon.services.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RetryingTransactionTemplateTest {
+    private PlatformTransactionManager transactionManager;
+    private RetryingTransactionTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        template = new RetryingTransactionTemplate(transactionManager, 3, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void replaysAConflictingWriteInANewTransaction() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = template.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("version changed");
+            }
+            return "written";
+        });
+
+        assertEquals("written", result);
+        assertEquals(3, attempts.get());
+        verify(transactionManager, times(3)).getTransaction(any());
+    }
+
+    @Test
+    void rethrowsTheLastConflictOnceTheAttemptsAreExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> template.execute(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("version changed");
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void doesNotReplayOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(DataIntegrityViolationException.class, () -> template.executeWithoutResult(() -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate key");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void runsOnceInsideAnActiveTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> template.execute(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("version changed");
+        }));
+        assertEquals(1, attempts.get(), "the outer transaction cannot be replayed from inside");
+    }
+}